@@ -0,0 +1,120 @@
+package reputation.node.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reputation.node.utils.DeviceResponseParser;
+
+/**
+ * Benchmark da leitura das respostas dos dispositivos, comparando a árvore
+ * JSON usada anteriormente pelo ListenerDevices com a leitura em fluxo.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeviceResponseParsingBenchmark {
+
+  private static final int AMOUNT_PAYLOADS = 1024;
+
+  @Param({ "1", "10" })
+  private int sensorsPerResponse;
+
+  @Param({ "1", "50" })
+  private int valuesPerSensor;
+
+  private byte[][] payloads;
+  private int next = 0;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+
+    this.payloads = new byte[AMOUNT_PAYLOADS][];
+
+    for (int i = 0; i < AMOUNT_PAYLOADS; i++) {
+      this.payloads[i] =
+        this.devicePayload(random, i).getBytes(StandardCharsets.UTF_8);
+    }
+  }
+
+  @Benchmark
+  public void gsonTree(Blackhole blackhole) {
+    String mqttMessage = new String(this.nextPayload());
+    JsonObject jsonResponse = new Gson().fromJson(mqttMessage, JsonObject.class);
+
+    if (jsonResponse.get("METHOD").getAsString().equals("GET")) {
+      blackhole.consume(
+        jsonResponse
+          .get("HEADER")
+          .getAsJsonObject()
+          .get("NAME")
+          .getAsString()
+      );
+      blackhole.consume(jsonResponse.get("BODY").getAsJsonObject().keySet());
+    }
+  }
+
+  @Benchmark
+  public DeviceResponseParser.DeviceResponse streaming() {
+    return DeviceResponseParser.parse(this.nextPayload());
+  }
+
+  private byte[] nextPayload() {
+    byte[] payload = this.payloads[this.next];
+
+    this.next = (this.next + 1) % AMOUNT_PAYLOADS;
+
+    return payload;
+  }
+
+  /**
+   * Resposta sintética, no formato enviado pelos dispositivos virtuais.
+   */
+  private String devicePayload(Random random, int deviceIndex) {
+    StringBuilder body = new StringBuilder();
+
+    for (int s = 0; s < this.sensorsPerResponse; s++) {
+      if (s > 0) {
+        body.append(',');
+      }
+
+      body.append("\"sensor").append(s).append("\":[");
+
+      for (int v = 0; v < this.valuesPerSensor; v++) {
+        if (v > 0) {
+          body.append(',');
+        }
+
+        body.append('"').append(random.nextInt(100)).append('"');
+      }
+
+      body.append(']');
+    }
+
+    return String.format(
+      "{\"METHOD\":\"GET\",\"CODE\":\"POST\",\"HEADER\":{\"NAME\":\"device%d\"},\"BODY\":{%s}}",
+      deviceIndex,
+      body
+    );
+  }
+}
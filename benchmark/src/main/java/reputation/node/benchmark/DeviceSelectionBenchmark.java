@@ -0,0 +1,83 @@
+package reputation.node.benchmark;
+
+import dlt.client.tangle.hornet.model.DeviceSensorId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reputation.node.benchmark.support.CredibilityDistribution;
+import reputation.node.benchmark.support.InMemoryLedgerReader;
+import reputation.node.benchmark.support.TransactionGenerator;
+import reputation.node.reputation.selection.DeviceSelection;
+import reputation.node.tangle.LedgerConnector;
+
+/**
+ * Benchmark da escolha do dispositivo com a maior reputação dentre aqueles
+ * oferecidos por um provedor de serviço.
+ *
+ * @author Allan Capistrano
+ * @version 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeviceSelectionBenchmark {
+
+  @Param({ "2", "10", "50" })
+  private int amountDevices;
+
+  @Param({ "100", "1000" })
+  private int historyLength;
+
+  @Param({ "10", "100" })
+  private int amountEvaluators;
+
+  private DeviceSelection deviceSelection;
+  private List<DeviceSensorId> deviceSensorIdList;
+
+  @Setup
+  public void setup() {
+    TransactionGenerator generator = new TransactionGenerator(
+      42,
+      this.amountEvaluators,
+      CredibilityDistribution.UNIFORM
+    );
+    InMemoryLedgerReader ledgerReader = new InMemoryLedgerReader();
+    LedgerConnector ledgerConnector = new LedgerConnector();
+
+    ledgerConnector.setLedgerReader(ledgerReader);
+
+    this.deviceSensorIdList = new ArrayList<>(this.amountDevices);
+
+    for (int i = 0; i < this.amountDevices; i++) {
+      String deviceId = "device_" + i;
+
+      generator
+        .evaluations(deviceId, this.historyLength)
+        .forEach(transaction -> ledgerReader.put(deviceId, transaction));
+
+      this.deviceSensorIdList.add(new DeviceSensorId(deviceId, "sensor"));
+    }
+
+    this.deviceSelection =
+      new DeviceSelection(ledgerConnector, true, true, true);
+  }
+
+  @Benchmark
+  public DeviceSensorId deviceWithHighestReputation() {
+    return this.deviceSelection.select(this.deviceSensorIdList);
+  }
+}
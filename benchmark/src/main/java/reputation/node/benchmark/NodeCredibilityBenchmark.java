@@ -0,0 +1,126 @@
+package reputation.node.benchmark;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reputation.node.benchmark.support.CredibilityDistribution;
+import reputation.node.benchmark.support.InMemoryLedgerReader;
+import reputation.node.benchmark.support.TransactionGenerator;
+import reputation.node.models.SourceCredibility;
+import reputation.node.reputation.credibility.NodeCredibility;
+import reputation.node.tangle.LedgerConnector;
+
+/**
+ * Benchmark da obtenção das credibilidades dos nós avaliadores, com a cache
+ * de credibilidades vazia e já preenchida.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NodeCredibilityBenchmark {
+
+  private static final String TARGET_ID = "provider";
+  private static final String SOURCE_ID = "consumer";
+
+  @Param({ "10", "100", "500" })
+  private int amountEvaluators;
+
+  @Param({ "1000", "10000" })
+  private int historyLength;
+
+  @Param({ "10", "100" })
+  private int credibilitiesPerEvaluator;
+
+  @Param({ "UNIFORM", "BIMODAL" })
+  private CredibilityDistribution credibilityDistribution;
+
+  private List<Transaction> evaluationTransactions;
+  private LedgerConnector ledgerConnector;
+  private NodeCredibility warmNodeCredibility;
+
+  @Setup
+  public void setup() {
+    TransactionGenerator generator = new TransactionGenerator(
+      42,
+      this.amountEvaluators,
+      this.credibilityDistribution
+    );
+    InMemoryLedgerReader ledgerReader = new InMemoryLedgerReader();
+
+    this.ledgerConnector = new LedgerConnector();
+    this.ledgerConnector.setLedgerReader(ledgerReader);
+
+    this.evaluationTransactions =
+      generator.evaluations(TARGET_ID, this.historyLength);
+    generator.credibilities(ledgerReader, this.credibilitiesPerEvaluator);
+
+    this.warmNodeCredibility = this.newNodeCredibility();
+    this.warmNodeCredibility.getNodesEvaluatorsCredibility(
+        this.evaluationTransactions,
+        SOURCE_ID,
+        true
+      );
+  }
+
+  /**
+   * Estado com uma cache de credibilidades vazia a cada invocação.
+   */
+  @State(Scope.Thread)
+  public static class ColdCache {
+
+    private NodeCredibility nodeCredibility;
+
+    @Setup(Level.Invocation)
+    public void setup(NodeCredibilityBenchmark benchmark) {
+      this.nodeCredibility = benchmark.newNodeCredibility();
+    }
+  }
+
+  @Benchmark
+  public List<SourceCredibility> evaluatorsCredibilityWarmCache() {
+    return this.warmNodeCredibility.getNodesEvaluatorsCredibility(
+        this.evaluationTransactions,
+        SOURCE_ID,
+        true
+      );
+  }
+
+  @Benchmark
+  public List<SourceCredibility> evaluatorsCredibilityColdCache(
+    ColdCache coldCache
+  ) {
+    return coldCache.nodeCredibility.getNodesEvaluatorsCredibility(
+      this.evaluationTransactions,
+      SOURCE_ID,
+      true
+    );
+  }
+
+  private NodeCredibility newNodeCredibility() {
+    NodeCredibility nodeCredibility = new NodeCredibility();
+
+    nodeCredibility.setLedgerConnector(this.ledgerConnector);
+    nodeCredibility.setCredibilityCacheSize(this.amountEvaluators);
+    nodeCredibility.start();
+
+    return nodeCredibility;
+  }
+}
@@ -0,0 +1,131 @@
+package reputation.node.benchmark;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reputation.node.benchmark.support.CredibilityDistribution;
+import reputation.node.benchmark.support.InMemoryKMeans;
+import reputation.node.benchmark.support.InMemoryLedgerReader;
+import reputation.node.benchmark.support.TransactionGenerator;
+import reputation.node.reputation.IReputation;
+import reputation.node.reputation.Reputation;
+import reputation.node.reputation.ReputationUsingKMeans;
+import reputation.node.reputation.credibility.NodeCredibility;
+import reputation.node.reputation.evaluation.EvaluationAggregator;
+import reputation.node.reputation.evaluation.TargetEvaluations;
+import reputation.node.reputation.kmeans.KMeansEngine;
+import reputation.node.tangle.LedgerConnector;
+
+/**
+ * Benchmark do cálculo da reputação, a partir do histórico completo de
+ * avaliações e a partir dos agregados mantidos de forma incremental.
+ *
+ * @author Allan Capistrano
+ * @version 1.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReputationBenchmark {
+
+  private static final String TARGET_ID = "provider";
+
+  @Param({ "10", "100", "500" })
+  private int amountEvaluators;
+
+  @Param({ "1000", "10000" })
+  private int historyLength;
+
+  @Param({ "UNIFORM", "BIMODAL", "SKEWED" })
+  private CredibilityDistribution credibilityDistribution;
+
+  @Param({ "native", "bridge" })
+  private String kMeansEngine;
+
+  private List<Transaction> evaluationTransactions;
+  private TargetEvaluations targetEvaluations;
+  private IReputation reputationUsingKMeans;
+  private IReputation reputation;
+
+  @Setup
+  public void setup() {
+    TransactionGenerator generator = new TransactionGenerator(
+      42,
+      this.amountEvaluators,
+      this.credibilityDistribution
+    );
+    InMemoryLedgerReader ledgerReader = new InMemoryLedgerReader();
+    LedgerConnector ledgerConnector = new LedgerConnector();
+
+    ledgerConnector.setLedgerReader(ledgerReader);
+
+    this.evaluationTransactions =
+      generator.evaluations(TARGET_ID, this.historyLength);
+    this.evaluationTransactions.forEach(transaction ->
+        ledgerReader.put(TARGET_ID, transaction)
+      );
+    generator.credibilities(ledgerReader, 10);
+
+    NodeCredibility nodeCredibility = new NodeCredibility();
+
+    nodeCredibility.setLedgerConnector(ledgerConnector);
+    nodeCredibility.setCredibilityCacheSize(this.amountEvaluators);
+    nodeCredibility.start();
+
+    EvaluationAggregator evaluationAggregator = new EvaluationAggregator();
+
+    evaluationAggregator.setLedgerConnector(ledgerConnector);
+    this.targetEvaluations = evaluationAggregator.get(TARGET_ID);
+
+    KMeansEngine kMeans = new KMeansEngine();
+
+    kMeans.setUseNativeKMeans(this.kMeansEngine.equals("native"));
+    kMeans.setKMeansService(new InMemoryKMeans());
+
+    this.reputationUsingKMeans =
+      new ReputationUsingKMeans(kMeans, nodeCredibility);
+    this.reputation = new Reputation();
+  }
+
+  @Benchmark
+  public Double reputationUsingKMeansFromTransactions() {
+    return this.reputationUsingKMeans.calculate(
+        this.evaluationTransactions,
+        true,
+        true
+      );
+  }
+
+  @Benchmark
+  public Double reputationUsingKMeansFromAggregates() {
+    return this.reputationUsingKMeans.calculate(
+        this.targetEvaluations,
+        true,
+        true
+      );
+  }
+
+  @Benchmark
+  public Double reputationFromTransactions() {
+    return this.reputation.calculate(this.evaluationTransactions, true, true);
+  }
+
+  @Benchmark
+  public Double reputationFromAggregates() {
+    return this.reputation.calculate(this.targetEvaluations, true, true);
+  }
+}
@@ -0,0 +1,49 @@
+package reputation.node.benchmark.support;
+
+import java.util.Random;
+
+/**
+ * Distribuições possíveis para as credibilidades sintéticas dos nós
+ * avaliadores.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public enum CredibilityDistribution {
+  /* Credibilidades espalhadas uniformemente entre 0 e 1. */
+  UNIFORM,
+  /* Metade dos nós com credibilidade baixa e metade com credibilidade alta. */
+  BIMODAL,
+  /* Poucos nós com credibilidade alta e a maioria próxima do padrão (0.5). */
+  SKEWED;
+
+  /**
+   * Gera uma credibilidade seguindo a distribuição.
+   *
+   * @param random Random - Gerador de números aleatórios.
+   * @return float
+   */
+  public float next(Random random) {
+    float credibility;
+
+    switch (this) {
+      case BIMODAL:
+        credibility =
+          random.nextBoolean()
+            ? 0.2f + random.nextFloat() * 0.1f
+            : 0.8f + random.nextFloat() * 0.1f;
+        break;
+      case SKEWED:
+        credibility =
+          random.nextInt(10) == 0
+            ? 0.9f + random.nextFloat() * 0.1f
+            : 0.45f + random.nextFloat() * 0.1f;
+        break;
+      default:
+        credibility = random.nextFloat();
+        break;
+    }
+
+    return credibility;
+  }
+}
@@ -0,0 +1,72 @@
+package reputation.node.benchmark.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import python.to.java.services.IKMeans;
+
+/**
+ * Substituto em memória do bundle SOFT-IoT-Python-to-Java. Executa o
+ * algoritmo de Lloyd com dois grupos sobre listas de Float, reproduzindo o
+ * custo do empacotamento dos valores feito pela ponte.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class InMemoryKMeans implements IKMeans {
+
+  private static final int MAX_ITERATIONS = 100;
+
+  @Override
+  public List<Float> execute(List<Float> values) {
+    if (values.size() < 2) {
+      return new ArrayList<>(values);
+    }
+
+    float lowCentroid = Float.POSITIVE_INFINITY;
+    float highCentroid = Float.NEGATIVE_INFINITY;
+
+    for (Float value : values) {
+      lowCentroid = Math.min(lowCentroid, value);
+      highCentroid = Math.max(highCentroid, value);
+    }
+
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double lowSum = 0, highSum = 0;
+      int lowAmount = 0, highAmount = 0;
+
+      for (Float value : values) {
+        if (Math.abs(value - lowCentroid) <= Math.abs(value - highCentroid)) {
+          lowSum += value;
+          lowAmount++;
+        } else {
+          highSum += value;
+          highAmount++;
+        }
+      }
+
+      float newLowCentroid = lowAmount > 0
+        ? (float) (lowSum / lowAmount)
+        : lowCentroid;
+      float newHighCentroid = highAmount > 0
+        ? (float) (highSum / highAmount)
+        : highCentroid;
+
+      if (newLowCentroid == lowCentroid && newHighCentroid == highCentroid) {
+        break;
+      }
+
+      lowCentroid = newLowCentroid;
+      highCentroid = newHighCentroid;
+    }
+
+    List<Float> highestCluster = new ArrayList<>();
+
+    for (Float value : values) {
+      if (Math.abs(value - lowCentroid) > Math.abs(value - highCentroid)) {
+        highestCluster.add(value);
+      }
+    }
+
+    return highestCluster;
+  }
+}
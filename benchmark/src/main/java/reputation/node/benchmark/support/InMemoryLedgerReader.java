@@ -0,0 +1,59 @@
+package reputation.node.benchmark.support;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import dlt.client.tangle.hornet.services.ILedgerReader;
+import dlt.client.tangle.hornet.services.ILedgerSubscriber;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Leitor da Tangle em memória, usado no lugar do Hornet nos benchmarks.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class InMemoryLedgerReader implements ILedgerReader {
+
+  private final Map<String, List<Transaction>> transactionsByIndex = new HashMap<>();
+  private final AtomicLong amountReads = new AtomicLong();
+
+  /**
+   * Adiciona uma transação em um índice.
+   *
+   * @param index String - Índice da transação.
+   * @param transaction Transaction - Transação.
+   */
+  public void put(String index, Transaction transaction) {
+    this.transactionsByIndex.computeIfAbsent(index, i -> new ArrayList<>())
+      .add(transaction);
+  }
+
+  @Override
+  public Transaction getTransactionById(String id) {
+    return null;
+  }
+
+  @Override
+  public List<Transaction> getTransactionsByIndex(String index, boolean flag) {
+    this.amountReads.incrementAndGet();
+
+    /* Cópia, assim como uma leitura real devolve uma nova lista. */
+    return new ArrayList<>(
+      this.transactionsByIndex.getOrDefault(index, Collections.emptyList())
+    );
+  }
+
+  @Override
+  public void subscribe(String topic, ILedgerSubscriber subscriber) {}
+
+  @Override
+  public void unsubscribe(String topic, ILedgerSubscriber subscriber) {}
+
+  public long getAmountReads() {
+    return amountReads.get();
+  }
+}
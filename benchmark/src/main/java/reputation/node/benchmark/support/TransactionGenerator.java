@@ -0,0 +1,143 @@
+package reputation.node.benchmark.support;
+
+import dlt.client.tangle.hornet.enums.TransactionType;
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import dlt.client.tangle.hornet.model.transactions.reputation.Credibility;
+import dlt.client.tangle.hornet.model.transactions.reputation.Evaluation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gera transações sintéticas de avaliação e de credibilidade para os
+ * benchmarks.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.1
+ */
+public class TransactionGenerator {
+
+  private static final String GROUP = "benchmark";
+
+  private final Random random;
+  private final int amountEvaluators;
+  private final CredibilityDistribution credibilityDistribution;
+  private final float[] evaluatorsCredibility;
+
+  /**
+   * Método construtor.
+   *
+   * @param seed long - Semente do gerador, para que as execuções sejam
+   * reproduzíveis.
+   * @param amountEvaluators int - Quantidade de nós avaliadores.
+   * @param credibilityDistribution CredibilityDistribution - Distribuição das
+   * credibilidades dos nós avaliadores.
+   */
+  public TransactionGenerator(
+    long seed,
+    int amountEvaluators,
+    CredibilityDistribution credibilityDistribution
+  ) {
+    this.random = new Random(seed);
+    this.amountEvaluators = amountEvaluators;
+    this.credibilityDistribution = credibilityDistribution;
+    this.evaluatorsCredibility = new float[amountEvaluators];
+
+    for (int i = 0; i < amountEvaluators; i++) {
+      this.evaluatorsCredibility[i] = credibilityDistribution.next(this.random);
+    }
+  }
+
+  /**
+   * Obtém o ID de um nó avaliador.
+   *
+   * @param index int - Índice do nó avaliador.
+   * @return String
+   */
+  public static String evaluatorId(int index) {
+    return "evaluator_" + index;
+  }
+
+  /**
+   * Gera o histórico de avaliações de uma coisa.
+   *
+   * @param targetId String - ID da coisa avaliada.
+   * @param historyLength int - Quantidade de avaliações.
+   * @return List<Transaction>
+   */
+  public List<Transaction> evaluations(String targetId, int historyLength) {
+    List<Transaction> evaluations = new ArrayList<>(historyLength);
+
+    for (int i = 0; i < historyLength; i++) {
+      int evaluator = this.random.nextInt(this.amountEvaluators);
+      float credibility = this.evaluatorsCredibility[evaluator];
+      /* Nós com maior credibilidade tendem a avaliar positivamente. */
+      int serviceEvaluation = this.random.nextFloat() < credibility ? 1 : 0;
+
+      evaluations.add(
+        new Evaluation(
+          evaluatorId(evaluator),
+          targetId,
+          GROUP,
+          TransactionType.REP_EVALUATION,
+          serviceEvaluation,
+          credibility,
+          serviceEvaluation * credibility
+        )
+      );
+    }
+
+    return evaluations;
+  }
+
+  /**
+   * Gera o histórico de credibilidades de cada nó avaliador e o adiciona ao
+   * leitor da Tangle em memória, no índice 'cred_<id do nó>'. As
+   * credibilidades são geradas em rodadas, uma por nó avaliador em cada
+   * rodada, e cada rodada é criada em um milissegundo posterior ao da
+   * anterior, para que a credibilidade mais recente de cada nó seja sempre a
+   * da última rodada, que segue a distribuição informada.
+   *
+   * @param ledgerReader InMemoryLedgerReader - Leitor da Tangle em memória.
+   * @param credibilitiesPerEvaluator int - Quantidade de credibilidades por
+   * nó avaliador.
+   */
+  public void credibilities(
+    InMemoryLedgerReader ledgerReader,
+    int credibilitiesPerEvaluator
+  ) {
+    for (int j = 0; j < credibilitiesPerEvaluator; j++) {
+      if (j > 0) {
+        awaitNextMillisecond();
+      }
+
+      for (int i = 0; i < this.amountEvaluators; i++) {
+        float credibility = j == credibilitiesPerEvaluator - 1
+          ? this.evaluatorsCredibility[i]
+          : this.credibilityDistribution.next(this.random);
+
+        ledgerReader.put(
+          "cred_" + evaluatorId(i),
+          new Credibility(
+            evaluatorId(i),
+            GROUP,
+            TransactionType.REP_CREDIBILITY,
+            credibility
+          )
+        );
+      }
+    }
+  }
+
+  /**
+   * Aguarda até que o relógio avance, já que o momento de criação das
+   * transações tem a precisão de milissegundos.
+   */
+  private static void awaitNextMillisecond() {
+    long now = System.currentTimeMillis();
+
+    while (System.currentTimeMillis() == now) {
+      Thread.yield();
+    }
+  }
+}
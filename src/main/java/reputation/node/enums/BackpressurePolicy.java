@@ -0,0 +1,17 @@
+package reputation.node.enums;
+
+/**
+ * Enumerador com as políticas possíveis quando uma fila de escrita está
+ * cheia.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public enum BackpressurePolicy {
+  /* Quem está escrevendo aguarda até que exista espaço na fila. */
+  BLOCK,
+  /* A nova escrita é descartada. */
+  DROP_NEWEST,
+  /* A escrita mais antiga da fila é descartada para dar lugar à nova. */
+  DROP_OLDEST,
+}
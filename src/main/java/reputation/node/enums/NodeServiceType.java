@@ -1,24 +1,79 @@
 package reputation.node.enums;
 
+import dlt.client.tangle.hornet.enums.TransactionType;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Enumerador com os tipos possíveis de serviços que um nó pode prestar.
  *
  * @author Allan Capistrano
- * @version 1.1.0
+ * @version 1.3.0
  */
 public enum NodeServiceType {
-  THERMOMETER("Thermometer"),
-  HUMIDITY_SENSOR("HumiditySensor"),
-  PULSE_OXYMETER("PulseOxymeter"),
-  WIND_DIRECTION_SENSOR("WindDirectionSensor");
+  THERMOMETER("Thermometer", TransactionType.REP_SVC_THERMOMETER),
+  HUMIDITY_SENSOR("HumiditySensor", TransactionType.REP_SVC_HUMIDITY_SENSOR),
+  PULSE_OXYMETER("PulseOxymeter", TransactionType.REP_SVC_PULSE_OXYMETER),
+  WIND_DIRECTION_SENSOR(
+    "WindDirectionSensor",
+    TransactionType.REP_SVC_WIND_DIRECTION_SENSOR
+  );
+
+  private static final Map<String, NodeServiceType> BY_DESCRIPTION = new HashMap<>();
+  private static final Map<TransactionType, NodeServiceType> BY_TRANSACTION_TYPE = new EnumMap<>(
+    TransactionType.class
+  );
+
+  static {
+    for (NodeServiceType nodeServiceType : values()) {
+      BY_DESCRIPTION.put(nodeServiceType.description, nodeServiceType);
+      BY_TRANSACTION_TYPE.put(nodeServiceType.transactionType, nodeServiceType);
+    }
+  }
 
   private String description;
+  private TransactionType transactionType;
 
-  NodeServiceType(String description) {
+  NodeServiceType(String description, TransactionType transactionType) {
     this.description = description;
+    this.transactionType = transactionType;
+  }
+
+  /**
+   * Obtém o tipo de serviço a partir da sua descrição.
+   *
+   * @param description String - Descrição do serviço.
+   * @return NodeServiceType - Ou null, caso o serviço seja desconhecido.
+   */
+  public static NodeServiceType fromDescription(String description) {
+    return description == null ? null : BY_DESCRIPTION.get(description);
+  }
+
+  /**
+   * Obtém o tipo de serviço a partir do tipo da transação de resposta.
+   *
+   * @param transactionType TransactionType - Tipo da transação.
+   * @return NodeServiceType - Ou null, caso não seja uma resposta de serviço.
+   */
+  public static NodeServiceType fromTransactionType(
+    TransactionType transactionType
+  ) {
+    return transactionType == null
+      ? null
+      : BY_TRANSACTION_TYPE.get(transactionType);
   }
 
   public String getDescription() {
     return description;
   }
+
+  /**
+   * Tipo da transação usada para responder uma requisição deste serviço.
+   *
+   * @return TransactionType
+   */
+  public TransactionType getTransactionType() {
+    return transactionType;
+  }
 }
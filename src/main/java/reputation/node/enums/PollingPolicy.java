@@ -0,0 +1,17 @@
+package reputation.node.enums;
+
+/**
+ * Enumerador com as políticas possíveis para escolher o próximo sensor que
+ * terá os seus dados requisitados.
+ *
+ * @author Allan Capistrano
+ * @version 1.1.0
+ */
+public enum PollingPolicy {
+  /* Um sensor aleatório. */
+  RANDOM,
+  /* Todos os sensores, um de cada vez, na ordem dos dispositivos. */
+  ROUND_ROBIN,
+  /* Um sensor do dispositivo com a reputação atualizada há mais tempo. */
+  STALENESS,
+}
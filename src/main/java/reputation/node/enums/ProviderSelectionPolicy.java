@@ -0,0 +1,15 @@
+package reputation.node.enums;
+
+/**
+ * Enumerador com as políticas possíveis para a escolha do nó provedor de
+ * serviço.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public enum ProviderSelectionPolicy {
+  /* Escolhe o nó com a maior reputação. */
+  REPUTATION,
+  /* Escolhe o nó com a maior reputação, descontado o seu tempo de resposta. */
+  LATENCY_AWARE,
+}
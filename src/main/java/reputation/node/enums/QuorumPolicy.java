@@ -0,0 +1,20 @@
+package reputation.node.enums;
+
+/**
+ * Enumerador com as políticas possíveis para encerrar antecipadamente a espera
+ * pelas respostas de uma requisição de serviço.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public enum QuorumPolicy {
+  /* Sempre aguarda até o tempo limite. */
+  NONE,
+  /* Encerra quando uma quantidade mínima de nós responder. */
+  COUNT,
+  /* Encerra quando uma fração dos nós que responderam na última requisição do
+  mesmo serviço responder. */
+  GROUP_FRACTION,
+  /* Encerra quando um nó com reputação mínima responder. */
+  REPUTATION,
+}
@@ -0,0 +1,182 @@
+package reputation.node.models;
+
+import br.ufba.dcc.wiser.soft_iot.entities.Device;
+import br.ufba.dcc.wiser.soft_iot.entities.Sensor;
+import dlt.client.tangle.hornet.model.DeviceSensorId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import reputation.node.enums.PollingPolicy;
+
+/**
+ * Escolhe o próximo sensor que terá os seus dados requisitados, dentre todos
+ * os sensores dos dispositivos conectados ao nó, segundo uma política de
+ * escolha. Sensores que ainda aguardam a resposta de uma requisição não são
+ * escolhidos.
+ *
+ * @author Allan Capistrano
+ * @version 1.1.0
+ */
+public class DevicePoller {
+
+  private final PollingPolicy pollingPolicy;
+  private volatile List<DeviceSensorId> targets = Collections.emptyList();
+  private volatile List<DeviceTargets> devices = Collections.emptyList();
+  private Set<String> deviceIds = Collections.emptySet();
+  private final AtomicInteger cursor = new AtomicInteger();
+  /* Momento da última avaliação de cada dispositivo, usado pela política STALENESS. */
+  private final Map<String, Long> lastEvaluatedAt = new ConcurrentHashMap<>();
+
+  /**
+   * Método construtor.
+   *
+   * @param pollingPolicy PollingPolicy - Política de escolha dos sensores.
+   */
+  public DevicePoller(PollingPolicy pollingPolicy) {
+    this.pollingPolicy = pollingPolicy;
+  }
+
+  /**
+   * Atualiza os sensores que podem ser escolhidos. Os momentos de avaliação
+   * dos dispositivos que não estão mais conectados são descartados.
+   *
+   * @param devices List<Device> - Lista de dispositivos conectados.
+   */
+  public synchronized void setDevices(List<Device> devices) {
+    List<DeviceSensorId> newTargets = new ArrayList<>();
+    List<DeviceTargets> newDevices = new ArrayList<>(devices.size());
+    Set<String> newDeviceIds = new HashSet<>();
+
+    for (Device d : devices) {
+      List<DeviceSensorId> deviceTargets = new ArrayList<>();
+
+      for (Sensor s : d.getSensors()) {
+        deviceTargets.add(new DeviceSensorId(d.getId(), s.getId()));
+      }
+
+      if (!deviceTargets.isEmpty() && newDeviceIds.add(d.getId())) {
+        newDevices.add(new DeviceTargets(d.getId(), deviceTargets));
+      }
+
+      newTargets.addAll(deviceTargets);
+    }
+
+    this.targets = Collections.unmodifiableList(newTargets);
+    this.devices = Collections.unmodifiableList(newDevices);
+    this.deviceIds = newDeviceIds;
+    this.lastEvaluatedAt.keySet().retainAll(newDeviceIds);
+  }
+
+  /**
+   * Registra que a reputação de um dispositivo foi atualizada, seja pela sua
+   * resposta ou pelo fim do tempo limite de uma requisição.
+   *
+   * @param deviceId String - ID do dispositivo avaliado.
+   */
+  public synchronized void markEvaluated(String deviceId) {
+    if (this.deviceIds.contains(deviceId)) {
+      this.lastEvaluatedAt.put(deviceId, System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Escolhe o próximo sensor.
+   *
+   * @param deviceRequests DeviceRequestTable - Requisições aguardando
+   * resposta.
+   * @return DeviceSensorId - Ou null, caso nenhum sensor possa ser escolhido.
+   */
+  public DeviceSensorId next(DeviceRequestTable deviceRequests) {
+    List<DeviceSensorId> currentTargets = this.targets;
+    DeviceSensorId target = null;
+
+    if (currentTargets.isEmpty()) {
+      return null;
+    }
+
+    switch (this.pollingPolicy) {
+      case ROUND_ROBIN:
+        for (int i = 0; i < currentTargets.size() && target == null; i++) {
+          DeviceSensorId candidate = currentTargets.get(
+            Math.floorMod(this.cursor.getAndIncrement(), currentTargets.size())
+          );
+
+          if (!this.isPending(deviceRequests, candidate)) {
+            target = candidate;
+          }
+        }
+        break;
+      case STALENESS:
+        target = this.nextStalest(deviceRequests);
+        break;
+      default:
+        DeviceSensorId candidate = currentTargets.get(
+          ThreadLocalRandom.current().nextInt(currentTargets.size())
+        );
+
+        if (!this.isPending(deviceRequests, candidate)) {
+          target = candidate;
+        }
+        break;
+    }
+
+    return target;
+  }
+
+  /**
+   * Escolhe um sensor do dispositivo cuja reputação está há mais tempo sem
+   * ser atualizada, dentre os dispositivos sem requisições aguardando
+   * resposta. Dispositivos nunca avaliados são escolhidos primeiro, e os
+   * sensores de um mesmo dispositivo são escolhidos um de cada vez.
+   */
+  private DeviceSensorId nextStalest(DeviceRequestTable deviceRequests) {
+    DeviceTargets stalest = null;
+    long oldest = Long.MAX_VALUE;
+
+    for (DeviceTargets candidate : this.devices) {
+      Long evaluatedAt = this.lastEvaluatedAt.get(candidate.deviceId);
+      long time = evaluatedAt == null ? Long.MIN_VALUE : evaluatedAt;
+
+      if (time < oldest && !deviceRequests.containsDevice(candidate.deviceId)) {
+        oldest = time;
+        stalest = candidate;
+      }
+    }
+
+    if (stalest == null) {
+      return null;
+    }
+
+    return stalest.sensors.get(
+      Math.floorMod(stalest.cursor.getAndIncrement(), stalest.sensors.size())
+    );
+  }
+
+  private boolean isPending(
+    DeviceRequestTable deviceRequests,
+    DeviceSensorId target
+  ) {
+    return deviceRequests.contains(target.getDeviceId(), target.getSensorId());
+  }
+
+  /**
+   * Sensores de um dispositivo.
+   */
+  private static final class DeviceTargets {
+
+    private final String deviceId;
+    private final List<DeviceSensorId> sensors;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private DeviceTargets(String deviceId, List<DeviceSensorId> sensors) {
+      this.deviceId = deviceId;
+      this.sensors = sensors;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package reputation.node.models;
+
+import br.ufba.dcc.wiser.soft_iot.entities.Device;
+import br.ufba.dcc.wiser.soft_iot.entities.Sensor;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém os dispositivos conectados ao nó. A cada atualização, compara a nova
+ * lista com a anterior pelos IDs dos dispositivos, e os sensores de cada
+ * dispositivo pelo ID e tipo, e substitui a lista, que nunca é alterada após
+ * publicada. Desta forma, a lista pode ser lida sem nenhuma trava.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class DeviceRegistry {
+
+  private volatile List<Device> devices = Collections.emptyList();
+  /* ID e tipo dos sensores de cada dispositivo da lista atual. */
+  private Map<String, List<Map.Entry<String, String>>> sensorsByDevice = Collections.emptyMap();
+
+  /**
+   * Substitui a lista de dispositivos, caso tenha sido alterada.
+   *
+   * @param currentDevices List<Device> - Dispositivos conectados ao nó.
+   * @return Changes - Dispositivos adicionados, removidos e com os sensores
+   * alterados.
+   */
+  public synchronized Changes update(List<Device> currentDevices) {
+    Map<String, List<Map.Entry<String, String>>> currentSensors = new HashMap<>();
+    List<Device> added = new ArrayList<>();
+    List<String> removed = new ArrayList<>();
+    List<Device> changed = new ArrayList<>();
+
+    for (Device d : currentDevices) {
+      List<Map.Entry<String, String>> sensors = new ArrayList<>();
+
+      for (Sensor s : d.getSensors()) {
+        sensors.add(new SimpleImmutableEntry<>(s.getId(), s.getType()));
+      }
+
+      /* Dispositivo repetido na lista. */
+      if (currentSensors.put(d.getId(), sensors) != null) {
+        continue;
+      }
+
+      List<Map.Entry<String, String>> previous =
+        this.sensorsByDevice.get(d.getId());
+
+      if (previous == null) {
+        added.add(d);
+      } else if (!Objects.equals(previous, sensors)) {
+        changed.add(d);
+      }
+    }
+
+    for (String deviceId : this.sensorsByDevice.keySet()) {
+      if (!currentSensors.containsKey(deviceId)) {
+        removed.add(deviceId);
+      }
+    }
+
+    Changes changes = new Changes(added, removed, changed);
+
+    if (!changes.isEmpty()) {
+      this.sensorsByDevice = currentSensors;
+      this.devices =
+        Collections.unmodifiableList(new ArrayList<>(currentDevices));
+    }
+
+    return changes;
+  }
+
+  /**
+   * Remove todos os dispositivos.
+   *
+   * @return List<Device> - Dispositivos que estavam conectados.
+   */
+  public synchronized List<Device> clear() {
+    List<Device> previous = this.devices;
+
+    this.devices = Collections.emptyList();
+    this.sensorsByDevice = Collections.emptyMap();
+
+    return previous;
+  }
+
+  /**
+   * Lista atual de dispositivos, que não pode ser alterada.
+   *
+   * @return List<Device>
+   */
+  public List<Device> getDevices() {
+    return devices;
+  }
+
+  public int size() {
+    return this.devices.size();
+  }
+
+  /**
+   * Diferença entre duas listas de dispositivos.
+   */
+  public static final class Changes {
+
+    private final List<Device> addedDevices;
+    private final List<String> removedDeviceIds;
+    private final List<Device> changedDevices;
+
+    private Changes(
+      List<Device> addedDevices,
+      List<String> removedDeviceIds,
+      List<Device> changedDevices
+    ) {
+      this.addedDevices = addedDevices;
+      this.removedDeviceIds = removedDeviceIds;
+      this.changedDevices = changedDevices;
+    }
+
+    public List<Device> getAddedDevices() {
+      return addedDevices;
+    }
+
+    public List<String> getAddedDeviceIds() {
+      return this.addedDevices.stream()
+        .map(Device::getId)
+        .collect(Collectors.toList());
+    }
+
+    public List<String> getRemovedDeviceIds() {
+      return removedDeviceIds;
+    }
+
+    /**
+     * Dispositivos que já estavam conectados e tiveram os seus sensores, ou os
+     * tipos deles, alterados.
+     *
+     * @return List<Device>
+     */
+    public List<Device> getChangedDevices() {
+      return changedDevices;
+    }
+
+    /**
+     * Se algum dispositivo que já estava conectado teve os seus sensores
+     * alterados.
+     *
+     * @return boolean
+     */
+    public boolean isSensorsChanged() {
+      return !this.changedDevices.isEmpty();
+    }
+
+    public boolean isEmpty() {
+      return (
+        this.addedDevices.isEmpty() &&
+        this.removedDeviceIds.isEmpty() &&
+        this.changedDevices.isEmpty()
+      );
+    }
+  }
+}
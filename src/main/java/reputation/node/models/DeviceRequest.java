@@ -0,0 +1,68 @@
+package reputation.node.models;
+
+import java.util.concurrent.TimeUnit;
+import reputation.node.tasks.NodeTask;
+
+/**
+ * Requisição de dados feita a um sensor de um dispositivo, que aguarda a
+ * resposta do dispositivo.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class DeviceRequest {
+
+  private final String deviceId;
+  private final String sensorId;
+  private final long sentAt = System.nanoTime();
+  private volatile long roundTripTime = -1;
+  private volatile NodeTask timeoutTask;
+
+  /**
+   * Método construtor.
+   *
+   * @param deviceId String - ID do dispositivo.
+   * @param sensorId String - ID do sensor.
+   */
+  public DeviceRequest(String deviceId, String sensorId) {
+    this.deviceId = deviceId;
+    this.sensorId = sensorId;
+  }
+
+  /**
+   * Registra a chegada da resposta e cancela a tarefa do tempo limite.
+   */
+  void complete() {
+    this.roundTripTime = System.nanoTime() - this.sentAt;
+
+    NodeTask task = this.timeoutTask;
+
+    if (task != null) {
+      task.cancel();
+    }
+  }
+
+  public String getDeviceId() {
+    return deviceId;
+  }
+
+  public String getSensorId() {
+    return sensorId;
+  }
+
+  /**
+   * Tempo (milissegundos) entre a requisição e a resposta do dispositivo, ou
+   * -1 caso o dispositivo ainda não tenha respondido.
+   *
+   * @return long
+   */
+  public long getRoundTripTime() {
+    long rtt = this.roundTripTime;
+
+    return rtt < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(rtt);
+  }
+
+  public void setTimeoutTask(NodeTask timeoutTask) {
+    this.timeoutTask = timeoutTask;
+  }
+}
@@ -0,0 +1,195 @@
+package reputation.node.models;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tabela com as requisições de dados aos dispositivos que aguardam resposta,
+ * indexadas por dispositivo e sensor. Como as respostas dos dispositivos não
+ * possuem um identificador da requisição, uma resposta é associada à
+ * requisição do sensor presente nela ou, caso não seja possível, à requisição
+ * mais antiga do dispositivo.
+ *
+ * @author Allan Capistrano
+ * @version 1.1.0
+ */
+public class DeviceRequestTable {
+
+  /* Requisições de cada dispositivo, por ID do sensor, em ordem de envio. */
+  private final Map<String, Map<String, DeviceRequest>> requests = new ConcurrentHashMap<>();
+  private final AtomicInteger amountRequests = new AtomicInteger();
+  private final AtomicLong amountResponses = new AtomicLong();
+  private final AtomicLong amountTimeouts = new AtomicLong();
+  private final AtomicLong sumRoundTripTimes = new AtomicLong();
+
+  /**
+   * Registra uma nova requisição.
+   *
+   * @param deviceId String - ID do dispositivo.
+   * @param sensorId String - ID do sensor.
+   * @return DeviceRequest - Ou null, caso já exista uma requisição ao mesmo
+   * sensor aguardando resposta.
+   */
+  public DeviceRequest register(String deviceId, String sensorId) {
+    Map<String, DeviceRequest> deviceRequests =
+      this.requests.computeIfAbsent(deviceId, id -> new LinkedHashMap<>());
+
+    synchronized (deviceRequests) {
+      if (deviceRequests.containsKey(sensorId)) {
+        return null;
+      }
+
+      DeviceRequest request = new DeviceRequest(deviceId, sensorId);
+
+      deviceRequests.put(sensorId, request);
+      this.amountRequests.incrementAndGet();
+
+      return request;
+    }
+  }
+
+  /**
+   * Verifica se existe uma requisição ao sensor aguardando resposta.
+   *
+   * @param deviceId String - ID do dispositivo.
+   * @param sensorId String - ID do sensor.
+   * @return boolean
+   */
+  public boolean contains(String deviceId, String sensorId) {
+    Map<String, DeviceRequest> deviceRequests = this.requests.get(deviceId);
+
+    if (deviceRequests == null) {
+      return false;
+    }
+
+    synchronized (deviceRequests) {
+      return deviceRequests.containsKey(sensorId);
+    }
+  }
+
+  /**
+   * Verifica se existe alguma requisição ao dispositivo aguardando resposta.
+   *
+   * @param deviceId String - ID do dispositivo.
+   * @return boolean
+   */
+  public boolean containsDevice(String deviceId) {
+    Map<String, DeviceRequest> deviceRequests = this.requests.get(deviceId);
+
+    if (deviceRequests == null) {
+      return false;
+    }
+
+    synchronized (deviceRequests) {
+      return !deviceRequests.isEmpty();
+    }
+  }
+
+  /**
+   * Associa a resposta de um dispositivo a uma requisição, e a remove da
+   * tabela.
+   *
+   * @param deviceId String - ID do dispositivo que respondeu.
+   * @param sensorIds Collection<String> - IDs dos sensores presentes na
+   * resposta.
+   * @return DeviceRequest - Ou null, caso não exista nenhuma requisição ao
+   * dispositivo aguardando resposta.
+   */
+  public DeviceRequest complete(String deviceId, Collection<String> sensorIds) {
+    Map<String, DeviceRequest> deviceRequests = this.requests.get(deviceId);
+
+    if (deviceRequests == null) {
+      return null;
+    }
+
+    DeviceRequest request = null;
+
+    synchronized (deviceRequests) {
+      for (String sensorId : sensorIds) {
+        request = deviceRequests.remove(sensorId);
+
+        if (request != null) {
+          break;
+        }
+      }
+
+      if (request == null) {
+        Iterator<DeviceRequest> iterator = deviceRequests.values().iterator();
+
+        if (!iterator.hasNext()) {
+          return null;
+        }
+
+        request = iterator.next();
+        iterator.remove();
+      }
+    }
+
+    this.amountRequests.decrementAndGet();
+    request.complete();
+    this.amountResponses.incrementAndGet();
+    this.sumRoundTripTimes.addAndGet(request.getRoundTripTime());
+
+    return request;
+  }
+
+  /**
+   * Remove uma requisição cujo tempo limite foi atingido.
+   *
+   * @param request DeviceRequest - Requisição.
+   * @return boolean - Se a requisição ainda aguardava resposta.
+   */
+  public boolean expire(DeviceRequest request) {
+    Map<String, DeviceRequest> deviceRequests =
+      this.requests.get(request.getDeviceId());
+
+    if (deviceRequests == null) {
+      return false;
+    }
+
+    synchronized (deviceRequests) {
+      if (!deviceRequests.remove(request.getSensorId(), request)) {
+        return false;
+      }
+    }
+
+    this.amountRequests.decrementAndGet();
+    this.amountTimeouts.incrementAndGet();
+
+    return true;
+  }
+
+  /**
+   * Quantidade de requisições aguardando resposta.
+   *
+   * @return int
+   */
+  public int size() {
+    return this.amountRequests.get();
+  }
+
+  public long getAmountResponses() {
+    return amountResponses.get();
+  }
+
+  public long getAmountTimeouts() {
+    return amountTimeouts.get();
+  }
+
+  /**
+   * Média do tempo (milissegundos) entre as requisições e as respostas dos
+   * dispositivos.
+   *
+   * @return double
+   */
+  public double getAverageRoundTripTime() {
+    long responses = this.amountResponses.get();
+
+    return responses == 0 ? 0 : (double) this.sumRoundTripTimes.get() / responses;
+  }
+}
@@ -0,0 +1,120 @@
+package reputation.node.models;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import reputation.node.enums.NodeServiceType;
+import reputation.node.tasks.NodeTask;
+
+/**
+ * Rodada de requisição de um serviço aos outros nós. Reúne as respostas
+ * recebidas até que a rodada seja encerrada, seja pelo tempo limite ou pelo
+ * quórum. Uma rodada também pode ser formada pelas respostas mantidas em
+ * cache, sem nenhuma requisição na Tangle.
+ *
+ * @author Allan Capistrano
+ * @version 1.1.0
+ */
+public class DiscoveryRound {
+
+  private final NodeServiceType nodeServiceType;
+  private final boolean cached;
+  private final long startedAt = System.currentTimeMillis();
+  private final List<Transaction> responses = new ArrayList<>();
+  private final Set<String> respondedNodes = new HashSet<>();
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+  private volatile NodeTask timeoutTask;
+
+  /**
+   * Método construtor.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço requisitado.
+   */
+  public DiscoveryRound(NodeServiceType nodeServiceType) {
+    this(nodeServiceType, false);
+  }
+
+  /**
+   * Método construtor.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço requisitado.
+   * @param cached boolean - Se as respostas foram obtidas da cache.
+   */
+  public DiscoveryRound(NodeServiceType nodeServiceType, boolean cached) {
+    this.nodeServiceType = nodeServiceType;
+    this.cached = cached;
+  }
+
+  /**
+   * Adiciona a resposta de um nó. Somente a primeira resposta de cada nó é
+   * considerada.
+   *
+   * @param response Transaction - Transação com os serviços do nó.
+   * @return int - Quantidade de respostas após a inserção, ou 0 caso a resposta
+   * tenha sido descartada.
+   */
+  public synchronized int addResponse(Transaction response) {
+    if (this.closed.get() || !this.respondedNodes.add(response.getSource())) {
+      return 0;
+    }
+
+    this.responses.add(response);
+
+    return this.responses.size();
+  }
+
+  /**
+   * Encerra a rodada e cancela a tarefa do tempo limite.
+   *
+   * @return boolean - Se a rodada foi encerrada por esta chamada.
+   */
+  public boolean close() {
+    if (!this.closed.compareAndSet(false, true)) {
+      return false;
+    }
+
+    NodeTask task = this.timeoutTask;
+
+    if (task != null) {
+      task.cancel();
+    }
+
+    return true;
+  }
+
+  /**
+   * Obtém uma cópia das respostas recebidas.
+   *
+   * @return List<Transaction>
+   */
+  public synchronized List<Transaction> getResponses() {
+    return new ArrayList<>(this.responses);
+  }
+
+  public synchronized int getAmountResponses() {
+    return this.responses.size();
+  }
+
+  public boolean isClosed() {
+    return closed.get();
+  }
+
+  public NodeServiceType getNodeServiceType() {
+    return nodeServiceType;
+  }
+
+  public boolean isCached() {
+    return cached;
+  }
+
+  public long getStartedAt() {
+    return startedAt;
+  }
+
+  public void setTimeoutTask(NodeTask timeoutTask) {
+    this.timeoutTask = timeoutTask;
+  }
+}
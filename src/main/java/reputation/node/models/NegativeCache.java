@@ -0,0 +1,214 @@
+package reputation.node.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Mantém as combinações de nó provedor, dispositivo e sensor para as quais o
+ * nó respondeu recentemente não possuir o dado, para que não sejam
+ * requisitadas novamente por um tempo. Falhas que podem ser temporárias, como
+ * o tempo limite excedido, não devem ser mantidas.
+ *
+ * As combinações são armazenadas em filtros de Bloom, então ocupam um espaço
+ * fixo, mas uma combinação que não foi registrada pode ser indicada como
+ * registrada. Enquanto a quantidade de combinações registradas a cada
+ * rotação não exceder a capacidade, isso ocorre com probabilidade de
+ * aproximadamente 1% em cada filtro, ou seja, de até 3% ao todo. Nesse
+ * caso, o dispositivo deixa de ser escolhido por até 1,5 * 'ttl', e outro
+ * dispositivo do mesmo nó é escolhido no lugar, ou, caso todos sejam
+ * indicados, o nó deixa de ser requisitado nesse período. Este custo foi
+ * considerado aceitável em troca da memória fixa, e pode ser reduzido
+ * aumentando a capacidade.
+ *
+ * Os filtros são rotacionados a cada 'ttl' / ('GENERATIONS' - 1)
+ * milissegundos, descartando o mais antigo, de forma que uma combinação é
+ * mantida por um tempo entre 'ttl' e 1,5 * 'ttl'.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class NegativeCache {
+
+  private static final int GENERATIONS = 3;
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  private final long rotationInterval;
+  private final BloomFilter[] filters;
+  private int current = 0;
+  private long nextRotation;
+
+  /**
+   * Método construtor.
+   *
+   * @param ttl long - Tempo (milissegundos) mínimo em que uma combinação é
+   * mantida. Caso seja 0, nenhuma combinação é mantida.
+   * @param capacity int - Quantidade de combinações esperadas a cada rotação.
+   */
+  public NegativeCache(long ttl, int capacity) {
+    this.rotationInterval = ttl / (GENERATIONS - 1);
+
+    if (this.isEnabled()) {
+      this.filters = new BloomFilter[GENERATIONS];
+
+      for (int i = 0; i < GENERATIONS; i++) {
+        this.filters[i] =
+          new BloomFilter(Math.max(1, capacity), FALSE_POSITIVE_PROBABILITY);
+      }
+
+      this.nextRotation = System.currentTimeMillis() + this.rotationInterval;
+    } else {
+      this.filters = null;
+    }
+  }
+
+  /**
+   * Registra que o nó não possui o dado de um sensor.
+   *
+   * @param nodeId String - ID do nó provedor.
+   * @param deviceId String - ID do dispositivo.
+   * @param sensorId String - ID do sensor.
+   */
+  public synchronized void put(String nodeId, String deviceId, String sensorId) {
+    if (!this.isEnabled()) {
+      return;
+    }
+
+    this.rotate();
+    this.filters[this.current].put(key(nodeId, deviceId, sensorId));
+  }
+
+  /**
+   * Verifica se o nó respondeu recentemente não possuir o dado de um sensor.
+   *
+   * @param nodeId String - ID do nó provedor.
+   * @param deviceId String - ID do dispositivo.
+   * @param sensorId String - ID do sensor.
+   * @return boolean
+   */
+  public synchronized boolean mightContain(
+    String nodeId,
+    String deviceId,
+    String sensorId
+  ) {
+    if (!this.isEnabled()) {
+      return false;
+    }
+
+    this.rotate();
+
+    byte[] key = key(nodeId, deviceId, sensorId);
+
+    for (BloomFilter filter : this.filters) {
+      if (filter.mightContain(key)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  public boolean isEnabled() {
+    return this.rotationInterval > 0;
+  }
+
+  /**
+   * Descarta os filtros cujo tempo expirou.
+   */
+  private void rotate() {
+    long now = System.currentTimeMillis();
+
+    for (int i = 0; i < GENERATIONS && now >= this.nextRotation; i++) {
+      this.current = (this.current + 1) % GENERATIONS;
+      this.filters[this.current].clear();
+      this.nextRotation += this.rotationInterval;
+    }
+
+    /* Todos os filtros foram descartados. */
+    if (now >= this.nextRotation) {
+      this.nextRotation = now + this.rotationInterval;
+    }
+  }
+
+  private static byte[] key(String nodeId, String deviceId, String sensorId) {
+    return String
+      .join("\u0000", nodeId, deviceId, sensorId)
+      .getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Filtro de Bloom com 'k' funções de hash derivadas de dois hashes de 64
+   * bits.
+   */
+  private static final class BloomFilter {
+
+    private final long[] bits;
+    private final long size;
+    private final int hashes;
+
+    private BloomFilter(int capacity, double falsePositiveProbability) {
+      long optimalSize = (long) Math.ceil(
+        -capacity *
+        Math.log(falsePositiveProbability) /
+        (Math.log(2) * Math.log(2))
+      );
+
+      this.bits = new long[(int) ((optimalSize + 63) / 64)];
+      this.size = this.bits.length * 64L;
+      this.hashes =
+        Math.max(
+          1,
+          (int) Math.round((double) this.size / capacity * Math.log(2))
+        );
+    }
+
+    private void put(byte[] key) {
+      long hash1 = hash(key, 0);
+      long hash2 = hash(key, hash1) | 1;
+
+      for (int i = 0; i < this.hashes; i++) {
+        long index = Math.floorMod(hash1 + i * hash2, this.size);
+
+        this.bits[(int) (index >>> 6)] |= 1L << index;
+      }
+    }
+
+    private boolean mightContain(byte[] key) {
+      long hash1 = hash(key, 0);
+      long hash2 = hash(key, hash1) | 1;
+
+      for (int i = 0; i < this.hashes; i++) {
+        long index = Math.floorMod(hash1 + i * hash2, this.size);
+
+        if ((this.bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    private void clear() {
+      Arrays.fill(this.bits, 0);
+    }
+
+    /**
+     * FNV-1a de 64 bits, seguido da função de mistura do MurmurHash3.
+     */
+    private static long hash(byte[] key, long seed) {
+      long hash = 0xcbf29ce484222325L ^ seed;
+
+      for (byte b : key) {
+        hash ^= b & 0xFF;
+        hash *= 0x100000001b3L;
+      }
+
+      hash ^= hash >>> 33;
+      hash *= 0xff51afd7ed558ccdL;
+      hash ^= hash >>> 33;
+      hash *= 0xc4ceb9fe1a85ec53L;
+      hash ^= hash >>> 33;
+
+      return hash;
+    }
+  }
+}
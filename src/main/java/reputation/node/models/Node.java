@@ -3,8 +3,6 @@ package reputation.node.models;
 import br.uefs.larsid.extended.mapping.devices.services.IDevicePropertiesManager;
 import br.ufba.dcc.wiser.soft_iot.entities.Device;
 import br.ufba.dcc.wiser.soft_iot.entities.Sensor;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import dlt.client.tangle.hornet.enums.TransactionType;
 import dlt.client.tangle.hornet.model.DeviceSensorId;
 import dlt.client.tangle.hornet.model.transactions.IndexTransaction;
@@ -15,52 +13,78 @@ import dlt.client.tangle.hornet.model.transactions.reputation.Evaluation;
 import dlt.client.tangle.hornet.model.transactions.reputation.HasReputationService;
 import dlt.client.tangle.hornet.model.transactions.reputation.ReputationService;
 import dlt.client.tangle.hornet.services.ILedgerSubscriber;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import node.type.services.INodeType;
 import python.to.java.services.IKMeans;
 import reputation.node.enums.NodeServiceType;
+import reputation.node.enums.PollingPolicy;
+import reputation.node.enums.ProviderSelectionPolicy;
+import reputation.node.enums.QuorumPolicy;
 import reputation.node.mqtt.ListenerDevices;
 import reputation.node.reputation.IReputation;
-import reputation.node.reputation.Reputation;
 import reputation.node.reputation.ReputationUsingKMeans;
 import reputation.node.reputation.credibility.NodeCredibility;
+import reputation.node.reputation.credibility.OwnCredibility;
+import reputation.node.reputation.evaluation.EvaluationAggregator;
+import reputation.node.reputation.evaluation.TargetEvaluations;
+import reputation.node.reputation.kmeans.KMeansEngine;
+import reputation.node.reputation.selection.DeviceSelection;
+import reputation.node.reputation.selection.IProviderSelection;
+import reputation.node.reputation.selection.LatencyAwareSelection;
+import reputation.node.reputation.selection.ProviderLatencyTracker;
+import reputation.node.reputation.selection.ReputationSelection;
 import reputation.node.services.NodeTypeService;
 import reputation.node.tangle.LedgerConnector;
+import reputation.node.tangle.LedgerEventDispatcher;
 import reputation.node.tasks.CalculateNodeReputationTask;
 import reputation.node.tasks.ChangeDisturbingNodeBehaviorTask;
 import reputation.node.tasks.CheckDevicesTask;
 import reputation.node.tasks.CheckNodesServicesTask;
+import reputation.node.tasks.ReportPublishStatsTask;
 import reputation.node.tasks.RequestDataTask;
+import reputation.node.tasks.TaskScheduler;
+import reputation.node.tasks.WaitNodesResponsesTask;
 import reputation.node.tasks.WaitDeviceResponseTask;
-import reputation.node.utils.JsonStringToJsonObject;
 import reputation.node.utils.MQTTClient;
+import reputation.node.utils.ProviderHttpClient;
+import reputation.node.utils.ProviderHttpClient.HttpStatusException;
+import reputation.node.utils.ServiceResponseParser;
 import write.csv.services.CsvWriterService;
 
 /**
  *
  * @author Allan Capistrano
- * @version 1.3.0
+ * @version 1.18.0
  */
 public class Node implements NodeTypeService, ILedgerSubscriber {
 
   private MQTTClient MQTTClient;
   private INodeType nodeType;
-  private IKMeans kMeans;
+  /* Implementação do KMeans usada nos cálculos. */
+  private final KMeansEngine kMeans = new KMeansEngine();
   private int checkDeviceTaskTime;
   private int requestDataTaskTime;
   private int waitDeviceResponseTaskTime;
@@ -68,27 +92,65 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
   private int waitNodesResponsesTaskTime;
   private int changeDisturbingNodeBehaviorTaskTime;
   private int calculateNodeReputationTaskTime;
-  private List<Device> devices;
-  private List<Transaction> nodesWithServices;
+  private int publishStatsTaskTime;
+  private final DeviceRegistry deviceRegistry = new DeviceRegistry();
+  /* Dispositivos e sensores de cada tipo de serviço, atualizado a cada alteração da lista de dispositivos. */
+  private final ServiceCatalog serviceCatalog = new ServiceCatalog();
   private LedgerConnector ledgerConnector;
-  private int amountDevices = 0;
   private IDevicePropertiesManager deviceManager;
   private ListenerDevices listenerDevices;
-  private TimerTask waitDeviceResponseTask;
-  private ReentrantLock mutex = new ReentrantLock();
-  private ReentrantLock mutexNodesServices = new ReentrantLock();
-  private String lastNodeServiceTransactionType = null;
-  private boolean isRequestingNodeServices = false;
-  private boolean canReceiveNodesResponse = false;
+  private boolean wildcardDeviceSubscription;
+  private int schedulerPoolSize;
+  private TaskScheduler taskScheduler;
+  private final DeviceRequestTable deviceRequests = new DeviceRequestTable();
+  private PollingPolicy pollingPolicy = PollingPolicy.RANDOM;
+  private double pollingRate;
+  private int maxPendingDeviceRequests;
+  private DevicePoller devicePoller;
+  private int eventQueueSize;
+  private int eventWorkers;
+  private LedgerEventDispatcher eventDispatcher;
+  /* Rodadas de requisição de serviço em andamento, uma por tipo de serviço. */
+  private final Map<NodeServiceType, DiscoveryRound> discoveryRounds = new ConcurrentHashMap<>();
+  private int maxDiscoveryRounds;
+  /* Serializa o cálculo da credibilidade entre as rodadas simultâneas. */
+  private ReentrantLock mutexCredibility = new ReentrantLock();
+  private QuorumPolicy discoveryQuorumPolicy = QuorumPolicy.NONE;
+  private int discoveryQuorumCount;
+  private double discoveryQuorumFraction;
+  private double discoveryQuorumReputation;
+  /* Quantidade de nós que responderam a última requisição de cada serviço. */
+  private final Map<NodeServiceType, Integer> expectedProviders = new ConcurrentHashMap<>();
+  private int providerDirectoryTtl;
+  private String providerDirectoryTtlByType = "";
+  private double providerDirectoryRefreshAhead;
+  private ProviderDirectory providerDirectory;
   private boolean isNodesCredibilityWithSourceEmpty = true;
   private boolean useCredibility;
   private boolean useLatestCredibility;
+  private String credibilityDirectory = "";
   private boolean useReputation;
+  private boolean useNativeKMeans;
   private double reputationValue = 0.5;
   private NodeCredibility nodeCredibility;
+  private ProviderHttpClient providerHttpClient;
+  private int hedgedProviders;
+  private int hedgeDelay;
+  private ExecutorService hedgeExecutor;
+  private ProviderSelectionPolicy providerSelectionPolicy = ProviderSelectionPolicy.REPUTATION;
+  private double providerLatencyWeight;
+  private double providerLatencyPercentile;
+  private final ProviderLatencyTracker latencyTracker = new ProviderLatencyTracker();
+  private IProviderSelection providerSelection;
+  private DeviceSelection deviceSelection;
+  private int negativeCacheTtl;
+  private int negativeCacheCapacity;
+  /* Desativada até a inicialização do bundle. */
+  private NegativeCache negativeCache = new NegativeCache(0, 0);
+  private OwnCredibility ownCredibility;
+  private EvaluationAggregator evaluationAggregator;
   private CsvWriterService csvWriter;
   private String credibilityHeader;
-  private String[] csvData = new String[11];
   private long startedExperiment;
   private boolean flagStartedExperiment = true;
   private boolean changeDisturbingNodeBehaviorFlag = false;
@@ -103,9 +165,88 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
   public void start() {
     this.MQTTClient.connect();
 
-    this.devices = new ArrayList<>();
-    this.nodesWithServices = new ArrayList<>();
-    this.listenerDevices = new ListenerDevices(this.MQTTClient, this);
+    this.ownCredibility =
+      new OwnCredibility(
+        this.resolveCredibilityDirectory()
+          .resolve(
+            String.format(
+              "node_%s_credibility.properties",
+              this.nodeType.getNodeId()
+            )
+          )
+      );
+    /* A Tangle só é consultada na inicialização. */
+    this.ownCredibility.load(
+        this.ledgerConnector.getTransactionsByIndex(
+            "cred_" + this.nodeType.getNodeId(),
+            false
+          )
+      );
+
+    this.listenerDevices =
+      new ListenerDevices(
+        this.MQTTClient,
+        this,
+        this.wildcardDeviceSubscription
+      );
+    this.listenerDevices.start();
+    this.taskScheduler = new TaskScheduler(this.schedulerPoolSize);
+    this.devicePoller = new DevicePoller(this.pollingPolicy);
+    this.providerDirectory =
+      new ProviderDirectory(
+        TimeUnit.SECONDS.toMillis(this.providerDirectoryTtl),
+        this.parseProviderDirectoryTtlByType(),
+        this.providerDirectoryRefreshAhead
+      );
+    this.providerSelection = this.createProviderSelection();
+    this.deviceSelection =
+      new DeviceSelection(
+        this.ledgerConnector,
+        this.useReputation,
+        this.useLatestCredibility,
+        this.useCredibility
+      );
+    this.negativeCache =
+      new NegativeCache(
+        TimeUnit.SECONDS.toMillis(this.negativeCacheTtl),
+        this.negativeCacheCapacity
+      );
+    this.eventDispatcher =
+      new LedgerEventDispatcher(this.eventQueueSize, this.eventWorkers);
+
+    this.eventDispatcher.register(
+        TransactionType.REP_HAS_SVC,
+        this::handleServiceRequest
+      );
+
+    for (NodeServiceType nodeServiceType : NodeServiceType.values()) {
+      this.eventDispatcher.register(
+          nodeServiceType.getTransactionType(),
+          this::handleServiceResponse
+        );
+    }
+
+    this.eventDispatcher.start();
+
+    if (this.hedgedProviders > 1) {
+      AtomicInteger threadNumber = new AtomicInteger(1);
+
+      /* Uma thread para cada nó requisitado em cada rodada simultânea. */
+      this.hedgeExecutor =
+        Executors.newFixedThreadPool(
+          this.hedgedProviders * Math.max(1, this.maxDiscoveryRounds),
+          runnable -> {
+            Thread thread = new Thread(
+              runnable,
+              "reputation-node-hedge-" + threadNumber.getAndIncrement()
+            );
+
+            thread.setDaemon(true);
+
+            return thread;
+          }
+        );
+    }
 
     this.createTasks();
     this.subscribeToTransactionsTopics();
@@ -120,9 +261,25 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
    * Executa o que foi definido na função quando o bundle for finalizado.
    */
   public void stop() {
-    this.devices.forEach(d -> this.listenerDevices.unsubscribe(d.getId()));
+    /* Cancelando todas as tarefas antes de liberar os recursos usados por elas. */
+    this.taskScheduler.shutdown();
+
+    this.listenerDevices.update(
+        this.deviceRegistry.clear()
+          .stream()
+          .map(Device::getId)
+          .collect(Collectors.toList()),
+        Collections.emptyList()
+      );
+    this.serviceCatalog.clear();
+    this.listenerDevices.stop();
 
     this.unsubscribeToTransactionsTopics();
+    this.eventDispatcher.stop();
+
+    if (this.hedgeExecutor != null) {
+      this.hedgeExecutor.shutdownNow();
+    }
 
     this.MQTTClient.disconnect();
 
@@ -130,60 +287,83 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
   }
 
   /**
-   * Atualiza a lista de dispositivos conectados.
+   * Atualiza a lista de dispositivos conectados. Somente os dispositivos que
+   * se conectaram, desconectaram ou tiveram os seus sensores alterados desde
+   * a última atualização têm os seus tópicos e as suas entradas no catálogo
+   * de serviços alterados.
    *
    * @throws IOException
    */
   public void updateDeviceList() throws IOException {
-    try {
-      this.mutex.lock();
-      this.devices.clear();
-      this.devices.addAll(deviceManager.getAllDevices());
+    DeviceRegistry.Changes changes =
+      this.deviceRegistry.update(deviceManager.getAllDevices());
 
-      if (this.amountDevices < this.devices.size()) {
-        this.subscribeToDevicesTopics(this.devices.size() - this.amountDevices);
-        this.amountDevices = this.devices.size();
-      }
-    } finally {
-      this.mutex.unlock();
+    if (changes.isEmpty()) {
+      return;
     }
+
+    this.listenerDevices.update(
+        changes.getRemovedDeviceIds(),
+        changes.getAddedDeviceIds()
+      );
+
+    List<Device> updatedDevices = new ArrayList<>(changes.getAddedDevices());
+
+    updatedDevices.addAll(changes.getChangedDevices());
+
+    this.serviceCatalog.update(changes.getRemovedDeviceIds(), updatedDevices);
+    this.devicePoller.setDevices(this.deviceRegistry.getDevices());
   }
 
   /**
-   * Requisita dados de um dos sensores de um dispositivo aleatório que está
-   * conectado ao nó.
+   * Requisita dados de um dos sensores dos dispositivos conectados ao nó,
+   * escolhido segundo a política 'pollingPolicy'. Nenhuma requisição é feita
+   * caso já existam 'maxPendingDeviceRequests' requisições aguardando
+   * resposta.
    */
-  public void requestDataFromRandomDevice() {
-    if (this.amountDevices > 0) {
-      try {
-        this.mutex.lock();
+  public void requestDataFromDevice() {
+    if (this.deviceRegistry.size() == 0) {
+      logger.warning("There are no devices connected to request data.");
 
-        int randomIndex = new Random().nextInt(this.amountDevices);
-        String deviceId = this.devices.get(randomIndex).getId();
-        String topic = String.format("dev/%s", deviceId);
+      return;
+    }
 
-        List<Sensor> sensors = this.devices.get(randomIndex).getSensors();
-        randomIndex = new Random().nextInt(sensors.size());
+    if (this.deviceRequests.size() >= this.maxPendingDeviceRequests) {
+      logger.fine("Too many devices requests waiting for response.");
 
-        byte[] payload = String
-          .format("GET VALUE %s", sensors.get(randomIndex).getId())
-          .getBytes();
+      return;
+    }
 
-        this.MQTTClient.publish(topic, payload, 1);
-        this.waitDeviceResponseTask =
-          new WaitDeviceResponseTask(
-            deviceId,
-            (this.waitDeviceResponseTaskTime * 1000),
-            this
-          );
+    DeviceSensorId target = this.devicePoller.next(this.deviceRequests);
 
-        new Timer().scheduleAtFixedRate(this.waitDeviceResponseTask, 0, 1000);
-      } finally {
-        this.mutex.unlock();
-      }
-    } else {
-      logger.warning("There are no devices connected to request data.");
+    if (target == null) {
+      return;
     }
+
+    String deviceId = target.getDeviceId();
+    String sensorId = target.getSensorId();
+
+    /* Registrando a requisição antes do envio, para não perder a resposta. */
+    DeviceRequest request = this.deviceRequests.register(deviceId, sensorId);
+
+    if (request == null) {
+      logger.fine(
+        "Still waiting for " + deviceId + "/" + sensorId + " response."
+      );
+
+      return;
+    }
+
+    byte[] payload = String.format("GET VALUE %s", sensorId).getBytes();
+
+    this.MQTTClient.publish(String.format("dev/%s", deviceId), payload, 1);
+    request.setTimeoutTask(
+      this.taskScheduler.schedule(
+          new WaitDeviceResponseTask(request, this),
+          this.waitDeviceResponseTaskTime,
+          TimeUnit.SECONDS
+        )
+    );
   }
 
   /**
@@ -195,7 +375,7 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     /* Só responde se tiver pelo menos um dispositivo conectado ao nó, e não 
     seja um nó do tipo Egoísta. */
     if (
-      this.amountDevices > 0 &&
+      this.deviceRegistry.size() > 0 &&
       !this.getNodeType().getType().toString().equals("SELFISH")
     ) {
       logger.info("Requested service type: " + serviceType);
@@ -203,16 +383,7 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
       Transaction transaction = null;
       TransactionType transactionType = null;
       String transactionTypeInString = null;
-      List<Device> tempDevices = new ArrayList<>();
-      List<DeviceSensorId> deviceSensorIdList = new ArrayList<>();
-
-      try {
-        this.mutex.lock();
-        /* Cópia temporária para liberar a lista de dispositivos. */
-        tempDevices.addAll(this.devices);
-      } finally {
-        this.mutex.unlock();
-      }
+      List<DeviceSensorId> deviceSensorIdList;
 
       /* Se o nó estiver com o comportamento malicioso, irá oferecer um 
       dispositivo e sensor inexistente. */
@@ -223,39 +394,20 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
           .toString()
           .equals("MALICIOUS")
       ) {
-        deviceSensorIdList.add(
-          new DeviceSensorId("nonexistentDevice", "nonexistentSensor")
-        );
+        deviceSensorIdList =
+          Collections.singletonList(
+            new DeviceSensorId("nonexistentDevice", "nonexistentSensor")
+          );
       } else {
-        for (Device d : tempDevices) {
-          d
-            .getSensors()
-            .stream()
-            .filter(s -> s.getType().equals(serviceType))
-            .forEach(s ->
-              deviceSensorIdList.add(new DeviceSensorId(d.getId(), s.getId()))
-            );
-        }
+        deviceSensorIdList = this.serviceCatalog.get(serviceType);
       }
 
-      if (
-        serviceType.equals(NodeServiceType.HUMIDITY_SENSOR.getDescription())
-      ) {
-        transactionType = TransactionType.REP_SVC_HUMIDITY_SENSOR;
-      } else if (
-        serviceType.equals(NodeServiceType.PULSE_OXYMETER.getDescription())
-      ) {
-        transactionType = TransactionType.REP_SVC_PULSE_OXYMETER;
-      } else if (
-        serviceType.equals(NodeServiceType.THERMOMETER.getDescription())
-      ) {
-        transactionType = TransactionType.REP_SVC_THERMOMETER;
-      } else if (
-        serviceType.equals(
-          NodeServiceType.WIND_DIRECTION_SENSOR.getDescription()
-        )
-      ) {
-        transactionType = TransactionType.REP_SVC_WIND_DIRECTION_SENSOR;
+      NodeServiceType nodeServiceType = NodeServiceType.fromDescription(
+        serviceType
+      );
+
+      if (nodeServiceType != null) {
+        transactionType = nodeServiceType.getTransactionType();
       } else {
         logger.severe("Unknown service type.");
       }
@@ -278,287 +430,551 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
        * Enviando a transação para a blockchain.
        */
       if (transaction != null && transactionTypeInString != null) {
-        try {
-          this.ledgerConnector.put(
-              new IndexTransaction(transactionTypeInString, transaction)
-            );
+        final String innerTransactionTypeInString = transactionTypeInString;
 
-          /* Alterando o comportamento, caso seja um nó malicioso ou perturbador. */
-          this.changeNodeBehavior();
-        } catch (InterruptedException ie) {
-          logger.warning(
-            "Error trying to create a " +
-            transactionTypeInString +
-            " transaction."
-          );
-          logger.warning(ie.getStackTrace().toString());
-        }
+        this.ledgerConnector.putAsync(
+            new IndexTransaction(transactionTypeInString, transaction)
+          )
+          .whenComplete((indexTransaction, throwable) -> {
+            if (throwable == null) {
+              /* Alterando o comportamento, caso seja um nó malicioso ou perturbador. */
+              this.changeNodeBehavior();
+            } else {
+              logger.warning(
+                "Error trying to create a " +
+                innerTransactionTypeInString +
+                " transaction."
+              );
+              logger.warning(throwable.getMessage());
+            }
+          });
       }
     }
   }
 
   /**
-   * Faz uso do serviço do nó com a maior reputação dentre aqueles que
-   * responderam a requisição, e ao final avalia-o.
+   * Inicia uma nova rodada de requisição de um serviço aos outros nós. A
+   * rodada permanece registrada até que o serviço escolhido seja avaliado.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço requisitado.
+   * @return DiscoveryRound - Ou null, caso já exista uma rodada do mesmo
+   * serviço em andamento.
    */
-  public void useNodeService() {
-    if (this.nodesWithServices.isEmpty()) {
-      this.setRequestingNodeServices(false);
-      this.setLastNodeServiceTransactionType(null);
-    } else {
-      String highestReputationNodeId = this.getNodeIdWithHighestReputation();
+  public DiscoveryRound startDiscoveryRound(NodeServiceType nodeServiceType) {
+    DiscoveryRound round = new DiscoveryRound(nodeServiceType);
+
+    if (this.discoveryRounds.putIfAbsent(nodeServiceType, round) != null) {
+      return null;
+    }
+
+    return round;
+  }
+
+  /**
+   * Inicia uma rodada de requisição formada pelas respostas mantidas em cache,
+   * que é encerrada imediatamente.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço requisitado.
+   * @return boolean - Se existiam respostas válidas em cache.
+   */
+  public boolean useCachedProviders(NodeServiceType nodeServiceType) {
+    List<Transaction> providers =
+      this.providerDirectory.getProviders(nodeServiceType);
+
+    if (providers.isEmpty()) {
+      return false;
+    }
+
+    DiscoveryRound round = new DiscoveryRound(nodeServiceType, true);
 
-      if (highestReputationNodeId != null) {
-        final String innerHighestReputationNodeId = String.valueOf(
-          highestReputationNodeId
+    if (this.discoveryRounds.putIfAbsent(nodeServiceType, round) == null) {
+      providers.forEach(round::addResponse);
+
+      this.taskScheduler.schedule(
+          new WaitNodesResponsesTask(this, round, true),
+          0,
+          TimeUnit.SECONDS
         );
+    }
 
-        /**
-         * Obtendo a transação do nó com a maior reputação.
-         */
-        ReputationService nodeWithService = (ReputationService) this.nodesWithServices.stream()
-          .filter(nws -> nws.getSource().equals(innerHighestReputationNodeId))
-          .collect(Collectors.toList())
-          .get(0);
+    return true;
+  }
 
-        DeviceSensorId deviceSensorId =
-          this.getDeviceWithHighestReputation(nodeWithService.getServices());
+  /**
+   * Encerra uma rodada de requisição sem fazer uso de nenhum serviço.
+   *
+   * @param round DiscoveryRound - Rodada de requisição.
+   */
+  public void abortDiscoveryRound(DiscoveryRound round) {
+    round.close();
+    this.discoveryRounds.remove(round.getNodeServiceType(), round);
+  }
 
-        this.requestAndEvaluateNodeService(
-            nodeWithService.getSource(),
-            nodeWithService.getSourceIp(),
-            deviceSensorId.getDeviceId(),
-            deviceSensorId.getSensorId()
+  /**
+   * Verifica se existe uma rodada de requisição do serviço em andamento.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço.
+   * @return boolean
+   */
+  public boolean hasDiscoveryRound(NodeServiceType nodeServiceType) {
+    return this.discoveryRounds.containsKey(nodeServiceType);
+  }
+
+  /**
+   * Encerra uma rodada de requisição de serviço e faz uso do serviço do nó
+   * com a maior reputação dentre aqueles que responderam. Caso a rodada já
+   * tenha sido encerrada, nada é feito.
+   *
+   * @param round DiscoveryRound - Rodada de requisição.
+   * @param quorumReached boolean - Se a rodada foi encerrada pelo quórum, e
+   * não pelo tempo limite.
+   */
+  public void finishDiscoveryRound(DiscoveryRound round, boolean quorumReached) {
+    if (!round.close()) {
+      return;
+    }
+
+    List<Transaction> responses = round.getResponses();
+
+    logger.info(
+      String.format(
+        "%s discovery round closed by %s after %d ms with %d responses.",
+        round.getNodeServiceType().getDescription(),
+        round.isCached()
+          ? "provider cache"
+          : quorumReached ? "quorum" : "timeout",
+        System.currentTimeMillis() - round.getStartedAt(),
+        responses.size()
+      )
+    );
+
+    /* As respostas em cache não indicam o tamanho atual do grupo. */
+    if (!round.isCached()) {
+      if (quorumReached) {
+        this.expectedProviders.merge(
+            round.getNodeServiceType(),
+            responses.size(),
+            Math::max
           );
       } else {
-        this.setRequestingNodeServices(false);
-        this.setLastNodeServiceTransactionType(null);
+        this.expectedProviders.put(
+            round.getNodeServiceType(),
+            responses.size()
+          );
       }
+    }
 
-      try {
-        this.mutexNodesServices.lock();
-        this.nodesWithServices.clear();
-      } finally {
-        this.mutexNodesServices.unlock();
-      }
+    try {
+      this.useNodeService(responses);
+    } finally {
+      /* Permitindo uma nova rodada do mesmo serviço. */
+      this.discoveryRounds.remove(round.getNodeServiceType(), round);
     }
   }
 
   /**
-   * Obtém o ID do nó com a maior reputação dentre aqueles que reponderam a
-   * requisição.
-   * Obs: Se o sistema não estiver utilizando reputação, então será escolhido um
-   * nó provedor de serviço de maneira aleatória.
+   * Verifica se uma rodada de requisição já pode ser encerrada, segundo a
+   * política de quórum configurada.
    *
-   * @return String
+   * @param round DiscoveryRound - Rodada de requisição.
+   * @param amountResponses int - Quantidade de respostas recebidas.
+   * @param response Transaction - Última resposta recebida.
+   * @return boolean
    */
-  private String getNodeIdWithHighestReputation() {
-    List<ThingReputation> nodesReputations = new ArrayList<>();
-    Double reputation;
-    Double highestReputation = 0.0;
-    String highestReputationNodeId = null;
+  private boolean isQuorumReached(
+    DiscoveryRound round,
+    int amountResponses,
+    Transaction response
+  ) {
+    switch (this.discoveryQuorumPolicy) {
+      case COUNT:
+        return amountResponses >= this.discoveryQuorumCount;
+      case GROUP_FRACTION:
+        Integer expected = this.expectedProviders.get(
+          round.getNodeServiceType()
+        );
+
+        /* Sem uma rodada anterior, não há como saber o tamanho do grupo. */
+        return (
+          expected != null &&
+          expected > 0 &&
+          amountResponses >= Math.ceil(expected * this.discoveryQuorumFraction)
+        );
+      case REPUTATION:
+        return (
+          this.calculateNodeReputation(response.getSource()) >=
+          this.discoveryQuorumReputation
+        );
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Faz uso do serviço do nó com a maior reputação dentre aqueles que
+   * responderam a requisição, e ao final avalia-o.
+   *
+   * @param nodesWithServices List<Transaction> - Respostas dos nós.
+   */
+  private void useNodeService(List<Transaction> nodesWithServices) {
+    if (this.hedgedProviders > 1 && nodesWithServices.size() > 1) {
+      this.useHedgedNodeService(nodesWithServices);
+
+      return;
+    }
 
     /**
-     * Salvando a reputação de cada nó em uma lista.
+     * Requisitando ao nó mais indicado, ignorando os nós cujos dispositivos
+     * falharam recentemente.
      */
-    for (Transaction nodeWithService : this.nodesWithServices) {
-      String nodeId = nodeWithService.getSource();
+    for (ReputationService nodeWithService : this.rankNodesWithServices(
+        nodesWithServices
+      )) {
+      DeviceSensorId deviceSensorId =
+        this.getDeviceWithHighestReputation(
+            nodeWithService.getSource(),
+            nodeWithService.getServices()
+          );
 
-      List<Transaction> evaluationTransactions =
-        this.ledgerConnector.getLedgerReader()
-          .getTransactionsByIndex(nodeId, false);
+      if (deviceSensorId == null) {
+        continue;
+      }
 
-      if (evaluationTransactions.isEmpty()) {
-        reputation = 0.5;
-      } else {
-        IReputation reputationCalc = new ReputationUsingKMeans(
-          this.kMeans,
-          this.nodeCredibility,
-          this.getNodeType().getNodeId()
+      this.requestAndEvaluateNodeService(
+          nodeWithService.getSource(),
+          nodeWithService.getSourceIp(),
+          deviceSensorId.getDeviceId(),
+          deviceSensorId.getSensorId()
         );
-        reputation =
-          reputationCalc.calculate(
-            evaluationTransactions,
-            this.useLatestCredibility,
-            this.useCredibility
+
+      return;
+    }
+
+    if (!nodesWithServices.isEmpty()) {
+      logger.warning("No service provider available to be requested.");
+    }
+  }
+
+  /**
+   * Requisita o serviço aos 'hedgedProviders' nós com as maiores reputações,
+   * desconsiderando os nós cujos dispositivos estão no cache negativo. O nó
+   * com a maior reputação é requisitado imediatamente, e o próximo
+   * somente se nenhum valor válido tiver sido obtido após 'hedgeDelay'
+   * milissegundos, ou se todos os nós requisitados já tiverem respondido.
+   * Todos os nós requisitados são avaliados.
+   *
+   * @param nodesWithServices List<Transaction> - Respostas dos nós.
+   */
+  private void useHedgedNodeService(List<Transaction> nodesWithServices) {
+    List<ReputationService> providers = this.rankNodesWithServices(
+      nodesWithServices
+    );
+    CompletableFuture<String> firstValue = new CompletableFuture<>();
+    List<CompletableFuture<Void>> requests = new ArrayList<>();
+
+    for (
+      int i = 0;
+      i < providers.size() &&
+      requests.size() < this.hedgedProviders &&
+      !firstValue.isDone();
+      i++
+    ) {
+      ReputationService provider = providers.get(i);
+      DeviceSensorId deviceSensorId =
+        this.getDeviceWithHighestReputation(
+            provider.getSource(),
+            provider.getServices()
           );
+
+      /* Nós ignorados não contam como requisitados. */
+      if (deviceSensorId == null) {
+        continue;
       }
 
-      nodesReputations.add(new ThingReputation(nodeId, reputation));
+      if (!requests.isEmpty()) {
+        try {
+          CompletableFuture
+            .anyOf(
+              firstValue,
+              CompletableFuture.allOf(
+                requests.toArray(new CompletableFuture<?>[0])
+              )
+            )
+            .get(this.hedgeDelay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException te) {
+          /* Nenhum valor obtido a tempo, requisitando ao próximo nó. */
+        } catch (ExecutionException ee) {
+          logger.warning(ee.getMessage());
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+
+          break;
+        }
 
-      if (reputation > highestReputation) {
-        highestReputation = reputation;
+        if (firstValue.isDone()) {
+          break;
+        }
       }
-    }
 
-    final Double innerHighestReputation = Double.valueOf(highestReputation);
+      requests.add(
+        CompletableFuture.runAsync(
+          () -> {
+            String sensorValue;
 
-    List<ThingReputation> temp;
+            try {
+              sensorValue =
+                this.requestNodeService(
+                    provider.getSource(),
+                    provider.getSourceIp(),
+                    deviceSensorId.getDeviceId(),
+                    deviceSensorId.getSensorId()
+                  );
+            } catch (HttpStatusException hse) {
+              logger.severe(hse.getMessage());
+
+              return;
+            }
 
-    if (this.useReputation) {
-      /**
-       * Verificando quais nós possuem a maior reputação.
-       */
-      temp =
-        nodesReputations
-          .stream()
-          .filter(nr -> nr.getReputation().equals(innerHighestReputation))
-          .collect(Collectors.toList());
-    } else {
-      temp = nodesReputations;
+            if (sensorValue != null && firstValue.complete(sensorValue)) {
+              logger.info(
+                String.format(
+                  "Sensor value obtained from %s: %s",
+                  provider.getSource(),
+                  sensorValue
+                )
+              );
+            }
+
+            this.evaluateNodeService(provider.getSource(), sensorValue);
+          },
+          this.hedgeExecutor
+        )
+      );
     }
 
-    /**
-     * Obtendo o ID de um dos nós com a maior reputação.
-     */
-    if (temp.size() == 1) {
-      highestReputationNodeId = temp.get(0).getThingId();
-    } else if (temp.size() > 1) {
-      int randomIndex = new Random().nextInt(temp.size());
+    /* Aguardando a avaliação de todos os nós requisitados. */
+    try {
+      CompletableFuture
+        .allOf(requests.toArray(new CompletableFuture<?>[0]))
+        .join();
+    } catch (CompletionException ce) {
+      logger.severe(ce.getMessage());
+    }
 
-      highestReputationNodeId = temp.get(randomIndex).getThingId();
-    } else {
-      logger.severe("Invalid amount of nodes with the highest reputation.");
+    logger.info(
+      String.format(
+        "Hedged service request: %d providers contacted, value %s.",
+        requests.size(),
+        firstValue.isDone() ? "obtained" : "not obtained"
+      )
+    );
+
+    /* Alterando o comportamento, caso seja um nó malicioso ou perturbador. */
+    this.changeNodeBehavior();
+  }
+
+  /**
+   * Ordena os nós que responderam a requisição segundo a política
+   * 'providerSelectionPolicy'.
+   *
+   * @param nodesWithServices List<Transaction> - Respostas dos nós.
+   * @return List<ReputationService>
+   */
+  private List<ReputationService> rankNodesWithServices(
+    List<Transaction> nodesWithServices
+  ) {
+    Map<String, ReputationService> nodesById = new HashMap<>();
+
+    for (Transaction nodeWithService : nodesWithServices) {
+      nodesById.put(
+        nodeWithService.getSource(),
+        (ReputationService) nodeWithService
+      );
     }
 
-    return highestReputationNodeId;
+    return this.providerSelection.rank(
+        this.getNodesReputations(nodesWithServices)
+      )
+      .stream()
+      .map(nodesById::get)
+      .collect(Collectors.toList());
   }
 
   /**
-   * Obtém os IDs do dispositivo e do sensor, com a maior reputação.
-   * Obs: Se o sistema não estiver utilizando reputação, então será escolhido
-   * um dispositivo de maneira aleatória.
+   * Calcula a reputação de cada nó que respondeu a requisição, caso o sistema
+   * esteja utilizando reputação.
    *
-   * @param deviceSensorIdList List<DeviceSensorId> - Lista com os IDs do
-   * dispositivo e sensor que se deseja obter o maior.
-   * @return DeviceSensorId
+   * @param nodesWithServices List<Transaction> - Respostas dos nós.
+   * @return List<ThingReputation>
    */
-  private DeviceSensorId getDeviceWithHighestReputation(
-    List<DeviceSensorId> deviceSensorIdList
+  private List<ThingReputation> getNodesReputations(
+    List<Transaction> nodesWithServices
   ) {
-    List<ThingReputation> devicesReputations = new ArrayList<>();
-    Double reputation;
-    Double highestReputation = 0.0;
-    DeviceSensorId highestReputationDeviceSensorId = null;
+    List<ThingReputation> nodesReputations = new ArrayList<>();
 
-    if (deviceSensorIdList.size() > 1) {
-      /**
-       * Salvando a reputação de cada dispositivo em uma lista.
-       */
-      for (DeviceSensorId deviceSensorId : deviceSensorIdList) {
-        List<Transaction> evaluationTransactions =
-          this.ledgerConnector.getLedgerReader()
-            .getTransactionsByIndex(deviceSensorId.getDeviceId(), false);
-
-        if (evaluationTransactions.isEmpty()) {
-          reputation = 0.5;
-        } else {
-          IReputation reputationCalc = new Reputation();
-          reputation =
-            reputationCalc.calculate(
-              evaluationTransactions,
-              this.useLatestCredibility,
-              this.useCredibility
-            );
-        }
+    for (Transaction nodeWithService : nodesWithServices) {
+      String nodeId = nodeWithService.getSource();
 
-        devicesReputations.add(
-          new ThingReputation(
-            String.format(
-              "%s@%s", // Formato: deviceId@sensorId
-              deviceSensorId.getDeviceId(),
-              deviceSensorId.getSensorId()
-            ),
-            reputation
-          )
+      nodesReputations.add(
+        new ThingReputation(
+          nodeId,
+          this.useReputation ? this.calculateNodeReputation(nodeId) : 0.0
+        )
+      );
+    }
+
+    return nodesReputations;
+  }
+
+  /**
+   * Obtém o diretório em que a credibilidade do nó é salva. Caso
+   * 'credibilityDirectory' não seja definido, é usado o diretório de dados do
+   * Karaf ou, fora dele, o diretório temporário.
+   *
+   * @return Path
+   */
+  private Path resolveCredibilityDirectory() {
+    if (
+      this.credibilityDirectory != null &&
+      !this.credibilityDirectory.trim().isEmpty()
+    ) {
+      return Paths.get(this.credibilityDirectory.trim());
+    }
+
+    String karafData = System.getProperty("karaf.data");
+
+    return karafData == null
+      ? Paths.get(System.getProperty("java.io.tmpdir"))
+      : Paths.get(karafData, "reputation-node");
+  }
+
+  /**
+   * Cria a estratégia de escolha dos nós provedores de serviço.
+   *
+   * @return IProviderSelection
+   */
+  private IProviderSelection createProviderSelection() {
+    switch (this.providerSelectionPolicy) {
+      case LATENCY_AWARE:
+        return new LatencyAwareSelection(
+          this.latencyTracker,
+          this.useReputation,
+          this.providerLatencyWeight,
+          this.providerLatencyPercentile
         );
+      case REPUTATION:
+      default:
+        return new ReputationSelection(this.useReputation);
+    }
+  }
 
-        if (reputation > highestReputation) {
-          highestReputation = reputation;
-        }
+  /**
+   * Obtém o tempo (milissegundos) de validade das respostas de cada tipo de
+   * serviço, a partir de 'providerDirectoryTtlByType', no formato
+   * "Thermometer:60,HumiditySensor:120". Entradas inválidas são ignoradas.
+   *
+   * @return Map<NodeServiceType, Long>
+   */
+  private Map<NodeServiceType, Long> parseProviderDirectoryTtlByType() {
+    Map<NodeServiceType, Long> ttlByType = new EnumMap<>(NodeServiceType.class);
+
+    if (this.providerDirectoryTtlByType == null) {
+      return ttlByType;
+    }
+
+    for (String entry : this.providerDirectoryTtlByType.split(",")) {
+      if (entry.trim().isEmpty()) {
+        continue;
       }
 
-      final Double innerHighestReputation = Double.valueOf(highestReputation);
+      String[] typeAndTtl = entry.split(":");
+      NodeServiceType nodeServiceType = typeAndTtl.length == 2
+        ? NodeServiceType.fromDescription(typeAndTtl[0].trim())
+        : null;
 
-      List<ThingReputation> temp;
+      try {
+        long ttl = Long.parseLong(typeAndTtl[typeAndTtl.length - 1].trim());
 
-      if (this.useReputation) {
-        /**
-         * Verificando quais dispositivos possuem a maior reputação.
-         */
-        temp =
-          devicesReputations
-            .stream()
-            .filter(nr -> nr.getReputation().equals(innerHighestReputation))
-            .collect(Collectors.toList());
-      } else {
-        temp = devicesReputations;
+        if (nodeServiceType != null && ttl >= 0) {
+          ttlByType.put(nodeServiceType, TimeUnit.SECONDS.toMillis(ttl));
+          continue;
+        }
+      } catch (NumberFormatException nfe) {
+        /* Tratada abaixo, junto com os tipos desconhecidos. */
       }
 
-      int index = -1;
+      logger.warning("Ignoring invalid provider directory TTL: " + entry);
+    }
 
-      /**
-       * Obtendo o ID de um dos dispositivos com a maior reputação.
-       */
-      if (temp.size() == 1) {
-        index = 0;
-      } else if (temp.size() > 1) {
-        index = new Random().nextInt(temp.size());
-      } else {
-        logger.severe("Invalid amount of devices with the highest reputation.");
-      }
+    return ttlByType;
+  }
 
-      if (index != -1) {
-        String[] tempIds = temp.get(index).getThingId().split("@");
+  /**
+   * Calcula a reputação de um nó a partir das avaliações recebidas por ele.
+   *
+   * @param nodeId String - ID do nó.
+   * @return Double
+   */
+  private Double calculateNodeReputation(String nodeId) {
+    TargetEvaluations evaluations = this.evaluationAggregator.get(nodeId);
 
-        highestReputationDeviceSensorId =
-          new DeviceSensorId(tempIds[0], tempIds[1]);
-      }
-    } else if (deviceSensorIdList.size() == 1) {
-      highestReputationDeviceSensorId = deviceSensorIdList.get(0);
-    } else {
-      logger.severe("Invalid amount of devices.");
+    if (evaluations.isEmpty()) {
+      return 0.5;
     }
 
-    return highestReputationDeviceSensorId;
+    IReputation reputationCalc = new ReputationUsingKMeans(
+      this.kMeans,
+      this.nodeCredibility
+    );
+
+    return reputationCalc.calculate(
+      evaluations,
+      this.useLatestCredibility,
+      this.useCredibility
+    );
   }
 
   /**
-   * Habilita a página dos dispositivos faz uma requisição para a mesma.
+   * Obtém os IDs do dispositivo e do sensor, com a maior reputação.
+   * Obs: Se o sistema não estiver utilizando reputação, então será escolhido
+   * um dispositivo de maneira aleatória. Dispositivos cujas requisições ao nó
+   * provedor falharam recentemente não são escolhidos.
    *
-   * @param nodeIp String - IP do nó em que o dispositivo está conectado.
-   * @param deviceId String - ID do dispositivo.
-   * @param sensorId String - ID do sensor.
+   * @param nodeId String - ID do nó provedor dos dispositivos.
+   * @param deviceSensorIdList List<DeviceSensorId> - Lista com os IDs do
+   * dispositivo e sensor que se deseja obter o maior.
+   * @return DeviceSensorId - Ou null, caso nenhum dispositivo possa ser
+   * escolhido.
    */
-  private void enableDevicesPage(
-    String nodeIp,
-    String deviceId,
-    String sensorId
+  private DeviceSensorId getDeviceWithHighestReputation(
+    String nodeId,
+    List<DeviceSensorId> deviceSensorIdList
   ) {
-    try {
-      URL url = new URL(
-        String.format(
-          "http://%s:8181/cxf/iot-service/devices/%s/%s",
-          nodeIp,
-          deviceId,
-          sensorId
-        )
-      );
+    List<DeviceSensorId> candidates = deviceSensorIdList;
 
-      HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+    if (this.negativeCache.isEnabled()) {
+      candidates =
+        deviceSensorIdList
+          .stream()
+          .filter(ds ->
+            !this.negativeCache.mightContain(
+                nodeId,
+                ds.getDeviceId(),
+                ds.getSensorId()
+              )
+          )
+          .collect(Collectors.toList());
 
-      if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
-        conn.disconnect();
+      if (candidates.isEmpty() && !deviceSensorIdList.isEmpty()) {
+        logger.info(
+          "Skipping " + nodeId + ", all its devices failed recently."
+        );
 
-        return;
+        return null;
       }
-
-      conn.disconnect();
-    } catch (MalformedURLException mue) {
-      logger.severe(mue.getMessage());
-    } catch (IOException ioe) {
-      logger.severe(ioe.getMessage());
     }
+
+    return this.deviceSelection.select(candidates);
   }
 
   /**
@@ -575,67 +991,113 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     String deviceId,
     String sensorId
   ) {
-    boolean isNullable = false;
-    String response = null;
-    String sensorValue = null;
-    JsonElement valueJsonElement = null;
-    int serviceEvaluation = 0;
-    float nodeCredibility = 0;
-
-    this.enableDevicesPage(nodeIp, deviceId, sensorId);
+    String sensorValue;
 
     try {
-      URL url = new URL(
-        String.format(
-          "http://%s:8181/cxf/iot-service/devices/%s/%s",
-          nodeIp,
-          deviceId,
-          sensorId
-        )
-      );
-      HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+      sensorValue =
+        this.requestNodeService(nodeId, nodeIp, deviceId, sensorId);
+    } catch (HttpStatusException hse) {
+      logger.severe(hse.getMessage());
 
-      if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
-        logger.severe("HTTP error code : " + conn.getResponseCode());
+      return;
+    }
 
-        conn.disconnect();
+    this.evaluateNodeService(nodeId, sensorValue);
 
-        return;
-      }
+    /* Alterando o comportamento, caso seja um nó malicioso ou perturbador. */
+    this.changeNodeBehavior();
+  }
+
+  /**
+   * Requisita o valor de um sensor a um nó provedor de serviço, registrando
+   * o tempo de resposta do nó. Caso a requisição falhe, é registrado no
+   * mínimo o tempo limite de leitura, para que um nó que falha rapidamente
+   * não pareça mais rápido que os demais.
+   *
+   * @param nodeId - ID do nó para o qual irá requisitar o serviço.
+   * @param nodeIp - IP do nó para o qual irá requisitar o serviço.
+   * @param deviceId - ID do dispositivo que fornecerá o serviço.
+   * @param sensorId - ID do sensor que fornecerá o serviço.
+   * @return String - Valor do sensor, ou null caso o nó não tenha prestado o
+   * serviço.
+   * @throws HttpStatusException - Caso a resposta não seja 200 (OK), e
+   * portanto o serviço não deve ser avaliado.
+   */
+  private String requestNodeService(
+    String nodeId,
+    String nodeIp,
+    String deviceId,
+    String sensorId
+  ) throws HttpStatusException {
+    String sensorValue = null;
+    long startedAt = System.nanoTime();
+
+    try {
+      sensorValue =
+        this.providerHttpClient.getDeviceData(
+            nodeIp,
+            deviceId,
+            sensorId,
+            ServiceResponseParser::readValue
+          );
 
-      BufferedReader br = new BufferedReader(
-        new InputStreamReader((conn.getInputStream()))
-      );
+      this.latencyTracker.record(nodeId, this.elapsedMillis(startedAt));
 
-      String temp = null;
+      /* O nó respondeu que não possui o dado do sensor. */
+      if (sensorValue == null) {
+        this.negativeCache.put(nodeId, deviceId, sensorId);
+      }
+    } catch (HttpStatusException hse) {
+      this.recordFailedRequest(nodeId, startedAt);
 
-      while ((temp = br.readLine()) != null) {
-        if (temp.equals("null")) {
-          isNullable = true;
+      /* O dispositivo não existe no nó. */
+      if (hse.getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+        this.negativeCache.put(nodeId, deviceId, sensorId);
+      }
 
-          break;
-        }
+      throw hse;
+    } catch (IOException ioe) {
+      /* Falha que pode ser temporária, então não é mantida. */
+      logger.severe(ioe.getMessage());
 
-        response = temp;
-      }
+      this.recordFailedRequest(nodeId, startedAt);
+    }
 
-      conn.disconnect();
+    return sensorValue;
+  }
 
-      JsonObject jsonObject = JsonStringToJsonObject.convert(response);
+  /**
+   * Registra o tempo de uma requisição que falhou, penalizado com o tempo
+   * limite de leitura.
+   */
+  private void recordFailedRequest(String nodeId, long startedAt) {
+    this.latencyTracker.record(
+        nodeId,
+        Math.max(
+          this.elapsedMillis(startedAt),
+          this.providerHttpClient.getReadTimeout()
+        )
+      );
+  }
 
-      valueJsonElement = jsonObject.get("value");
+  private long elapsedMillis(long startedAt) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+  }
 
-      if (valueJsonElement != null) {
-        sensorValue = valueJsonElement.getAsString();
-      }
-    } catch (MalformedURLException mue) {
-      logger.severe(mue.getMessage());
-    } catch (IOException ioe) {
-      logger.severe(ioe.getMessage());
-    }
+  /**
+   * Avalia o serviço prestado por um nó, calculando antes a credibilidade
+   * deste nó.
+   *
+   * @param nodeId String - ID do nó que prestou o serviço.
+   * @param sensorValue String - Valor obtido do nó, ou null caso o nó não
+   * tenha prestado o serviço.
+   */
+  private void evaluateNodeService(String nodeId, String sensorValue) {
+    int serviceEvaluation = 0;
+    float nodeCredibility = 0;
 
     /* Prestou o serviço. */
-    if (!isNullable && sensorValue != null) {
+    if (sensorValue != null) {
       serviceEvaluation = 1;
 
       if (
@@ -652,56 +1114,64 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
       }
     }
 
-    if (this.useReputation) {
-      /* Salvando a reputação do nó */
-      this.csvData[10] = String.valueOf(this.reputationValue);
-    }
-
-    if (this.useCredibility) {
-      /* Calculando a credibilidade deste nó */
-      nodeCredibility =
-        this.calculateCredibility(
-            this.nodeType.getNodeId(),
-            nodeId,
-            serviceEvaluation
-          );
-    }
+    /* Linha do arquivo .csv referente a esta rodada. */
+    String[] csvData = new String[11];
 
     /**
-     * Avaliando o serviço prestado pelo nó.
+     * A credibilidade do nó é lida e atualizada a cada avaliação, então as
+     * rodadas simultâneas avaliam um serviço de cada vez.
      */
     try {
-      float evaluationValue = serviceEvaluation;
+      this.mutexCredibility.lock();
+
+      if (this.useReputation) {
+        /* Salvando a reputação do nó */
+        csvData[10] = String.valueOf(this.reputationValue);
+      }
 
       if (this.useCredibility) {
-        evaluationValue = serviceEvaluation * nodeCredibility;
+        /* Calculando a credibilidade deste nó */
+        nodeCredibility =
+          this.calculateCredibility(
+              this.nodeType.getNodeId(),
+              nodeId,
+              serviceEvaluation,
+              csvData
+            );
       }
 
-      logger.info("EVALUATION VALUE");
-      logger.info(String.valueOf(evaluationValue));
+      /**
+       * Avaliando o serviço prestado pelo nó.
+       */
+      try {
+        float evaluationValue = serviceEvaluation;
 
-      /* Salvando o ID do prestador do serviço. */
-      this.csvData[9] = nodeId;
+        if (this.useCredibility) {
+          evaluationValue = serviceEvaluation * nodeCredibility;
+        }
 
-      this.nodeType.getNode()
-        .evaluateServiceProvider(
-          nodeId,
-          serviceEvaluation,
-          nodeCredibility,
-          evaluationValue
-        );
-    } catch (InterruptedException ie) {
-      logger.severe(ie.getStackTrace().toString());
-    }
+        logger.info("EVALUATION VALUE");
+        logger.info(String.valueOf(evaluationValue));
 
-    this.setRequestingNodeServices(false);
-    this.setLastNodeServiceTransactionType(null);
+        /* Salvando o ID do prestador do serviço. */
+        csvData[9] = nodeId;
 
-    /* Escrevendo os dados no arquivo .csv. */
-    this.csvWriter.writeData(this.csvData);
+        this.nodeType.getNode()
+          .evaluateServiceProvider(
+            nodeId,
+            serviceEvaluation,
+            nodeCredibility,
+            evaluationValue
+          );
+      } catch (InterruptedException ie) {
+        logger.severe(ie.getStackTrace().toString());
+      }
 
-    /* Alterando o comportamento, caso seja um nó malicioso ou perturbador. */
-    this.changeNodeBehavior();
+      /* Escrevendo os dados no arquivo .csv. */
+      this.csvWriter.writeData(csvData);
+    } finally {
+      this.mutexCredibility.unlock();
+    }
   }
 
   /**
@@ -754,73 +1224,67 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
    * Cria todas as tasks que serão usadas pelo bundle.
    */
   private void createTasks() {
-    new Timer()
-      .scheduleAtFixedRate(
+    this.taskScheduler.scheduleAtFixedRate(
         new CheckDevicesTask(this),
         0,
-        this.checkDeviceTaskTime * 1000
-      );
-    new Timer()
-      .scheduleAtFixedRate(
-        new RequestDataTask(this),
-        0,
-        this.requestDataTaskTime * 1000
+        this.checkDeviceTaskTime,
+        TimeUnit.SECONDS
       );
-    new Timer()
-      .scheduleAtFixedRate(
+    if (this.pollingRate > 0) {
+      /* Taxa de requisições por segundo, independente do 'requestDataTaskTime'. */
+      this.taskScheduler.scheduleAtFixedRate(
+          new RequestDataTask(this),
+          0,
+          Math.max(1, Math.round(TimeUnit.SECONDS.toMicros(1) / this.pollingRate)),
+          TimeUnit.MICROSECONDS
+        );
+    } else {
+      this.taskScheduler.scheduleAtFixedRate(
+          new RequestDataTask(this),
+          0,
+          this.requestDataTaskTime,
+          TimeUnit.SECONDS
+        );
+    }
+    this.taskScheduler.scheduleAtFixedRate(
         new CheckNodesServicesTask(this),
         0,
-        this.checkNodesServicesTaskTime * 1000
+        this.checkNodesServicesTaskTime,
+        TimeUnit.SECONDS
       );
-    new Timer()
-      .scheduleAtFixedRate(
+    this.taskScheduler.scheduleAtFixedRate(
         new CalculateNodeReputationTask(
           this,
-          new ReputationUsingKMeans(
-            this.kMeans,
-            this.nodeCredibility,
-            this.getNodeType().getNodeId()
-          )
+          new ReputationUsingKMeans(this.kMeans, this.nodeCredibility)
         ),
         0,
-        this.calculateNodeReputationTaskTime * 1000
+        this.calculateNodeReputationTaskTime,
+        TimeUnit.SECONDS
       );
 
+    if (this.publishStatsTaskTime > 0) {
+      this.taskScheduler.scheduleAtFixedRate(
+          new ReportPublishStatsTask(this.MQTTClient),
+          this.publishStatsTaskTime,
+          this.publishStatsTaskTime,
+          TimeUnit.SECONDS
+        );
+    }
+
     /* Somente se um nó do tipo perturbador. */
     if (this.getNodeType().getType().toString().equals("DISTURBING")) {
-      new Timer()
-        .scheduleAtFixedRate(
+      this.taskScheduler.scheduleAtFixedRate(
           new ChangeDisturbingNodeBehaviorTask(
             this,
-            new ReputationUsingKMeans(
-              this.kMeans,
-              this.nodeCredibility,
-              this.getNodeType().getNodeId()
-            )
+            new ReputationUsingKMeans(this.kMeans, this.nodeCredibility)
           ),
           0,
-          this.changeDisturbingNodeBehaviorTaskTime * 1000
+          this.changeDisturbingNodeBehaviorTaskTime,
+          TimeUnit.SECONDS
         );
     }
   }
 
-  /**
-   * Se inscreve nos tópicos dos novos dispositivos.
-   *
-   * @param amountNewDevices int - Número de novos dispositivos que se
-   * conectaram ao nó.
-   */
-  private void subscribeToDevicesTopics(int amountNewDevices) {
-    int offset = 1;
-
-    for (int i = 0; i < amountNewDevices; i++) {
-      String deviceId = this.devices.get(this.devices.size() - offset).getId();
-      this.listenerDevices.subscribe(deviceId);
-
-      offset++;
-    }
-  }
-
   /**
    * Calcula a credibilidade do nó avaliador que será utilizada no cálculo da
    * avaliação.
@@ -828,12 +1292,14 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
    * @param sourceId String - ID do nó avaliador.
    * @param targetId String - ID do nó que prestou o serviço.
    * @param currentServiceEvaluation int - Nota do serviço atual.
+   * @param csvData String[] - Linha do arquivo .csv da rodada.
    * @return float
    */
   private float calculateCredibility(
     String sourceId,
     String targetId,
-    int currentServiceEvaluation
+    int currentServiceEvaluation,
+    String[] csvData
   ) {
     float consistencyThreshold = (float) 0.4;
     float trustworthinessThreshold = (float) 0.4;
@@ -842,8 +1308,7 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     float lowerGrowthRate = (float) 0.05;
 
     List<Transaction> serviceProviderEvaluationTransactions =
-      this.ledgerConnector.getLedgerReader()
-        .getTransactionsByIndex(targetId, false);
+      this.ledgerConnector.getTransactionsByIndex(targetId, false);
 
     /**
      * Calculando a consistência do nó (C(n)).
@@ -865,16 +1330,17 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     float trustworthiness =
       this.calculateTrustworthiness(
           serviceProviderEvaluationTransactions,
-          currentServiceEvaluation
+          currentServiceEvaluation,
+          csvData
         );
 
     /* Salvando o ID, tipo, consistência, confiabilidade e credibilidade mais 
     recente. */
-    this.csvData[0] = String.valueOf(this.nodeType.getNodeId());
-    this.csvData[1] = this.getNodeType().getType().toString();
-    this.csvData[2] = String.valueOf(consistency);
-    this.csvData[4] = String.valueOf(trustworthiness);
-    this.csvData[5] = String.valueOf(nodeCredibility);
+    csvData[0] = String.valueOf(this.nodeType.getNodeId());
+    csvData[1] = this.getNodeType().getType().toString();
+    csvData[2] = String.valueOf(consistency);
+    csvData[4] = String.valueOf(trustworthiness);
+    csvData[5] = String.valueOf(nodeCredibility);
 
     logger.info("TRUSTWORTHINESS");
     logger.info(String.valueOf(trustworthiness));
@@ -925,7 +1391,7 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     }
 
     /* Salvando a nova credibilidade. */
-    this.csvData[6] = String.valueOf(nodeCredibility);
+    csvData[6] = String.valueOf(nodeCredibility);
 
     logger.info("NEW NODE CREDIBILITY");
     logger.info(String.valueOf(nodeCredibility));
@@ -935,29 +1401,32 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
       startedExperiment = System.currentTimeMillis();
       flagStartedExperiment = false;
     }
-    this.csvData[7] = String.valueOf(startedExperiment);
+    csvData[7] = String.valueOf(startedExperiment);
     /* Salvando o tempo em que calculou a nova credibilidade. */
-    this.csvData[8] = String.valueOf(System.currentTimeMillis());
+    csvData[8] = String.valueOf(System.currentTimeMillis());
 
     /* Escrevendo na blockchain a credibilidade calculado do nó avaliador */
-    try {
-      if (!this.getNodeType().getType().toString().equals("SELFISH")) {
-        Transaction credibilityTransaction = new Credibility(
-          sourceId,
-          this.getNodeType().getNodeGroup(),
-          TransactionType.REP_CREDIBILITY,
-          nodeCredibility
-        );
+    if (!this.getNodeType().getType().toString().equals("SELFISH")) {
+      this.ownCredibility.set(nodeCredibility);
+
+      Transaction credibilityTransaction = new Credibility(
+        sourceId,
+        this.getNodeType().getNodeGroup(),
+        TransactionType.REP_CREDIBILITY,
+        nodeCredibility
+      );
 
-        this.ledgerConnector.getLedgerWriter()
-          .put(
-            new IndexTransaction("cred_" + sourceId, credibilityTransaction)
-          );
-      }
-    } catch (InterruptedException ie) {
-      logger.warning("Unable to write the node credibility on blockchain");
-      logger.warning(ie.getMessage());
+      this.ledgerConnector.putAsync(
+          new IndexTransaction("cred_" + sourceId, credibilityTransaction)
+        )
+        .exceptionally(throwable -> {
+          logger.warning("Unable to write the node credibility on blockchain");
+          logger.warning(throwable.getMessage());
+
+          return null;
+        });
     }
+
     return nodeCredibility;
   }
 
@@ -994,11 +1463,13 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
    * @param serviceProviderEvaluationTransactions List<Transaction> - Lista com
    * as transações de avaliação que do nó prestador de serviço.
    * @param currentServiceEvaluation float - Nota do serviço atual.
+   * @param csvData String[] - Linha do arquivo .csv da rodada.
    * @return float
    */
   private float calculateTrustworthiness(
     List<Transaction> serviceProviderEvaluationTransactions,
-    float currentServiceEvaluation
+    float currentServiceEvaluation,
+    String[] csvData
   ) {
     /* Inicializando o valor de R */
     float R = (float) 0.0;
@@ -1057,7 +1528,7 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
       }
 
       /* Salvando R. */
-      this.csvData[3] = String.valueOf(R);
+      csvData[3] = String.valueOf(R);
 
       logger.info("R VALUE");
       logger.info(String.valueOf(R));
@@ -1132,90 +1603,101 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
   }
 
   /**
-   * Obtém a credibilidade mais recente de um nó.
+   * Obtém a credibilidade mais recente de um nó. A credibilidade do próprio
+   * nó é obtida da memória.
    *
    * @param nodeId String - ID do nó que se deseja saber a credibilidade.
    * @return float
    */
   public float getNodeCredibility(String nodeId) {
+    if (nodeId.equals(this.nodeType.getNodeId())) {
+      return this.ownCredibility.get();
+    }
+
     return this.nodeCredibility.get(nodeId);
   }
 
+  /**
+   * Obtém a credibilidade mais recente do próprio nó, sem consultar a Tangle.
+   *
+   * @return float
+   */
+  public float getOwnCredibility() {
+    return this.ownCredibility.get();
+  }
+
   /**
    * Responsável por lidar com as mensagens recebidas pelo ZMQ (MQTT).
    */
   @Override
   public void update(Object object, Object object2) {
     /**
-     * Somente caso a transação não tenha sido enviada pelo próprio nó.
+     * Somente caso a transação não tenha sido enviada pelo próprio nó. O
+     * processamento é feito pelas threads do dispatcher.
      */
     if (
+      object instanceof Transaction &&
       !((Transaction) object).getSource().equals(this.getNodeType().getNodeId())
     ) {
-      if (((Transaction) object).getType() == TransactionType.REP_HAS_SVC) {
-        HasReputationService receivedTransaction = (HasReputationService) object;
+      this.eventDispatcher.dispatch((Transaction) object);
+    }
+  }
 
-        this.publishNodeServices(
-            receivedTransaction.getService(),
-            receivedTransaction.getSource()
-          );
-      } else {
-        TargetedTransaction receivedTransaction = (TargetedTransaction) object;
-
-        /**
-         * Somente se o destino da transação for este nó.
-         */
-        if (
-          receivedTransaction.getTarget().equals(this.nodeType.getNodeId()) &&
-          this.isRequestingNodeServices &&
-          this.canReceiveNodesResponse
-        ) {
-          TransactionType expectedTransactionType = null;
-
-          /**
-           * Verificando se a transação de serviço que recebeu é do tipo que
-           * requisitou.
-           */
-          if (
-            this.lastNodeServiceTransactionType.equals(
-                NodeServiceType.HUMIDITY_SENSOR.getDescription()
-              )
-          ) {
-            expectedTransactionType = TransactionType.REP_SVC_HUMIDITY_SENSOR;
-          } else if (
-            this.lastNodeServiceTransactionType.equals(
-                NodeServiceType.PULSE_OXYMETER.getDescription()
-              )
-          ) {
-            expectedTransactionType = TransactionType.REP_SVC_PULSE_OXYMETER;
-          } else if (
-            this.lastNodeServiceTransactionType.equals(
-                NodeServiceType.THERMOMETER.getDescription()
-              )
-          ) {
-            expectedTransactionType = TransactionType.REP_SVC_THERMOMETER;
-          } else if (
-            this.lastNodeServiceTransactionType.equals(
-                NodeServiceType.WIND_DIRECTION_SENSOR.getDescription()
-              )
-          ) {
-            expectedTransactionType =
-              TransactionType.REP_SVC_WIND_DIRECTION_SENSOR;
-          }
+  /**
+   * Responde a requisição de um outro nó pelos serviços prestados.
+   *
+   * @param transaction Transaction - Transação do tipo REP_HAS_SVC.
+   */
+  private void handleServiceRequest(Transaction transaction) {
+    HasReputationService receivedTransaction = (HasReputationService) transaction;
 
-          /**
-           * Adicionando na lista as transações referente aos serviços prestados
-           * pelos outros nós.
-           */
-          if (receivedTransaction.getType() == expectedTransactionType) {
-            try {
-              this.mutexNodesServices.lock();
-              this.nodesWithServices.add(receivedTransaction);
-            } finally {
-              this.mutexNodesServices.unlock();
-            }
-          }
-        }
+    this.publishNodeServices(
+        receivedTransaction.getService(),
+        receivedTransaction.getSource()
+      );
+  }
+
+  /**
+   * Adiciona na lista a resposta de um outro nó com os serviços prestados por
+   * ele.
+   *
+   * @param transaction Transaction - Transação do tipo REP_SVC_*.
+   */
+  private void handleServiceResponse(Transaction transaction) {
+    TargetedTransaction receivedTransaction = (TargetedTransaction) transaction;
+    NodeServiceType nodeServiceType = NodeServiceType.fromTransactionType(
+      receivedTransaction.getType()
+    );
+
+    /**
+     * Somente se o destino da transação for este nó, e se existir uma rodada
+     * de requisição do serviço em andamento.
+     */
+    DiscoveryRound round = nodeServiceType == null
+      ? null
+      : this.discoveryRounds.get(nodeServiceType);
+
+    /* Todas as respostas são mantidas em cache, mesmo as destinadas a outros nós. */
+    if (nodeServiceType != null) {
+      this.providerDirectory.put(nodeServiceType, receivedTransaction);
+    }
+
+    if (
+      round != null &&
+      receivedTransaction.getTarget().equals(this.nodeType.getNodeId())
+    ) {
+      int amountResponses = round.addResponse(receivedTransaction);
+
+      /* Encerrando a rodada antes do tempo limite, caso o quórum seja atingido. */
+      if (
+        amountResponses > 0 &&
+        this.isQuorumReached(round, amountResponses, receivedTransaction)
+      ) {
+        this.taskScheduler.schedule(
+            new WaitNodesResponsesTask(this, round, true),
+            0,
+            TimeUnit.SECONDS
+          );
       }
     }
   }
@@ -1239,11 +1721,31 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
   }
 
   public IKMeans getkMeans() {
-    return kMeans;
+    return kMeans.getKMeansService();
   }
 
   public void setkMeans(IKMeans kMeans) {
-    this.kMeans = kMeans;
+    this.kMeans.setKMeansService(kMeans);
+  }
+
+  /**
+   * Chamado quando o bundle em Python responsável pelo KMeans fica
+   * disponível.
+   *
+   * @param kMeans IKMeans - Serviço do KMeans.
+   */
+  public void bindKMeans(IKMeans kMeans) {
+    this.kMeans.setKMeansService(kMeans);
+  }
+
+  /**
+   * Chamado quando o bundle em Python responsável pelo KMeans deixa de estar
+   * disponível. A partir daí a implementação nativa é usada.
+   *
+   * @param kMeans IKMeans - Serviço do KMeans.
+   */
+  public void unbindKMeans(IKMeans kMeans) {
+    this.kMeans.setKMeansService(null);
   }
 
   public IDevicePropertiesManager getDeviceManager() {
@@ -1254,6 +1756,14 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     this.deviceManager = deviceManager;
   }
 
+  public int getPublishStatsTaskTime() {
+    return publishStatsTaskTime;
+  }
+
+  public void setPublishStatsTaskTime(int publishStatsTaskTime) {
+    this.publishStatsTaskTime = publishStatsTaskTime;
+  }
+
   public int getCheckDeviceTaskTime() {
     return checkDeviceTaskTime;
   }
@@ -1271,15 +1781,86 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
   }
 
   public int getAmountDevices() {
-    return amountDevices;
+    return this.deviceRegistry.size();
+  }
+
+  /**
+   * Lista atual de dispositivos conectados, que não pode ser alterada.
+   *
+   * @return List<Device>
+   */
+  public List<Device> getDevices() {
+    return this.deviceRegistry.getDevices();
+  }
+
+  public boolean isWildcardDeviceSubscription() {
+    return wildcardDeviceSubscription;
+  }
+
+  public void setWildcardDeviceSubscription(
+    boolean wildcardDeviceSubscription
+  ) {
+    this.wildcardDeviceSubscription = wildcardDeviceSubscription;
+  }
+
+  public DeviceRequestTable getDeviceRequests() {
+    return deviceRequests;
+  }
+
+  public DevicePoller getDevicePoller() {
+    return devicePoller;
+  }
+
+  public PollingPolicy getPollingPolicy() {
+    return pollingPolicy;
+  }
+
+  public void setPollingPolicy(PollingPolicy pollingPolicy) {
+    this.pollingPolicy = pollingPolicy;
+  }
+
+  public double getPollingRate() {
+    return pollingRate;
+  }
+
+  public void setPollingRate(double pollingRate) {
+    this.pollingRate = pollingRate;
+  }
+
+  public int getMaxPendingDeviceRequests() {
+    return maxPendingDeviceRequests;
+  }
+
+  public void setMaxPendingDeviceRequests(int maxPendingDeviceRequests) {
+    this.maxPendingDeviceRequests = maxPendingDeviceRequests;
+  }
+
+  public TaskScheduler getTaskScheduler() {
+    return taskScheduler;
+  }
+
+  public int getEventQueueSize() {
+    return eventQueueSize;
+  }
+
+  public void setEventQueueSize(int eventQueueSize) {
+    this.eventQueueSize = eventQueueSize;
+  }
+
+  public int getEventWorkers() {
+    return eventWorkers;
+  }
+
+  public void setEventWorkers(int eventWorkers) {
+    this.eventWorkers = eventWorkers;
   }
 
-  public TimerTask getWaitDeviceResponseTask() {
-    return waitDeviceResponseTask;
+  public int getSchedulerPoolSize() {
+    return schedulerPoolSize;
   }
 
-  public void setWaitDeviceResponseTask(TimerTask waitDeviceResponseTask) {
-    this.waitDeviceResponseTask = waitDeviceResponseTask;
+  public void setSchedulerPoolSize(int schedulerPoolSize) {
+    this.schedulerPoolSize = schedulerPoolSize;
   }
 
   public int getWaitDeviceResponseTaskTime() {
@@ -1298,14 +1879,6 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     this.ledgerConnector = ledgerConnector;
   }
 
-  public List<Transaction> getNodesWithServices() {
-    return nodesWithServices;
-  }
-
-  public void setNodesWithServices(List<Transaction> nodesWithServices) {
-    this.nodesWithServices = nodesWithServices;
-  }
-
   public int getCheckNodesServicesTaskTime() {
     return checkNodesServicesTaskTime;
   }
@@ -1314,30 +1887,87 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     this.checkNodesServicesTaskTime = checkNodesServicesTaskTime;
   }
 
-  public String getLastNodeServiceTransactionType() {
-    return lastNodeServiceTransactionType;
+  /**
+   * Verifica se existe alguma rodada de requisição de serviço em andamento.
+   *
+   * @return boolean
+   */
+  public boolean isRequestingNodeServices() {
+    return !this.discoveryRounds.isEmpty();
+  }
+
+  public ProviderDirectory getProviderDirectory() {
+    return providerDirectory;
+  }
+
+  public int getProviderDirectoryTtl() {
+    return providerDirectoryTtl;
+  }
+
+  public void setProviderDirectoryTtl(int providerDirectoryTtl) {
+    this.providerDirectoryTtl = providerDirectoryTtl;
+  }
+
+  public String getProviderDirectoryTtlByType() {
+    return providerDirectoryTtlByType;
+  }
+
+  public void setProviderDirectoryTtlByType(String providerDirectoryTtlByType) {
+    this.providerDirectoryTtlByType = providerDirectoryTtlByType;
+  }
+
+  public double getProviderDirectoryRefreshAhead() {
+    return providerDirectoryRefreshAhead;
   }
 
-  public void setLastNodeServiceTransactionType(
-    String lastNodeServiceTransactionType
+  public void setProviderDirectoryRefreshAhead(
+    double providerDirectoryRefreshAhead
   ) {
-    this.lastNodeServiceTransactionType = lastNodeServiceTransactionType;
+    this.providerDirectoryRefreshAhead = providerDirectoryRefreshAhead;
   }
 
-  public boolean isRequestingNodeServices() {
-    return isRequestingNodeServices;
+  public int getAmountDiscoveryRounds() {
+    return this.discoveryRounds.size();
+  }
+
+  public int getMaxDiscoveryRounds() {
+    return maxDiscoveryRounds;
+  }
+
+  public void setMaxDiscoveryRounds(int maxDiscoveryRounds) {
+    this.maxDiscoveryRounds = maxDiscoveryRounds;
+  }
+
+  public QuorumPolicy getDiscoveryQuorumPolicy() {
+    return discoveryQuorumPolicy;
+  }
+
+  public void setDiscoveryQuorumPolicy(QuorumPolicy discoveryQuorumPolicy) {
+    this.discoveryQuorumPolicy = discoveryQuorumPolicy;
+  }
+
+  public int getDiscoveryQuorumCount() {
+    return discoveryQuorumCount;
+  }
+
+  public void setDiscoveryQuorumCount(int discoveryQuorumCount) {
+    this.discoveryQuorumCount = discoveryQuorumCount;
+  }
+
+  public double getDiscoveryQuorumFraction() {
+    return discoveryQuorumFraction;
   }
 
-  public void setRequestingNodeServices(boolean isRequestingNodeServices) {
-    this.isRequestingNodeServices = isRequestingNodeServices;
+  public void setDiscoveryQuorumFraction(double discoveryQuorumFraction) {
+    this.discoveryQuorumFraction = discoveryQuorumFraction;
   }
 
-  public boolean isCanReceiveNodesResponse() {
-    return canReceiveNodesResponse;
+  public double getDiscoveryQuorumReputation() {
+    return discoveryQuorumReputation;
   }
 
-  public void setCanReceiveNodesResponse(boolean canReceiveNodesResponse) {
-    this.canReceiveNodesResponse = canReceiveNodesResponse;
+  public void setDiscoveryQuorumReputation(double discoveryQuorumReputation) {
+    this.discoveryQuorumReputation = discoveryQuorumReputation;
   }
 
   public int getWaitNodesResponsesTaskTime() {
@@ -1356,6 +1986,76 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     this.useCredibility = useCredibility;
   }
 
+  public int getHedgedProviders() {
+    return hedgedProviders;
+  }
+
+  public void setHedgedProviders(int hedgedProviders) {
+    this.hedgedProviders = hedgedProviders;
+  }
+
+  public int getHedgeDelay() {
+    return hedgeDelay;
+  }
+
+  public void setHedgeDelay(int hedgeDelay) {
+    this.hedgeDelay = hedgeDelay;
+  }
+
+  public ProviderSelectionPolicy getProviderSelectionPolicy() {
+    return providerSelectionPolicy;
+  }
+
+  public void setProviderSelectionPolicy(
+    ProviderSelectionPolicy providerSelectionPolicy
+  ) {
+    this.providerSelectionPolicy = providerSelectionPolicy;
+  }
+
+  public double getProviderLatencyWeight() {
+    return providerLatencyWeight;
+  }
+
+  public void setProviderLatencyWeight(double providerLatencyWeight) {
+    this.providerLatencyWeight = providerLatencyWeight;
+  }
+
+  public double getProviderLatencyPercentile() {
+    return providerLatencyPercentile;
+  }
+
+  public void setProviderLatencyPercentile(double providerLatencyPercentile) {
+    this.providerLatencyPercentile = providerLatencyPercentile;
+  }
+
+  public ProviderLatencyTracker getLatencyTracker() {
+    return latencyTracker;
+  }
+
+  public int getNegativeCacheTtl() {
+    return negativeCacheTtl;
+  }
+
+  public void setNegativeCacheTtl(int negativeCacheTtl) {
+    this.negativeCacheTtl = negativeCacheTtl;
+  }
+
+  public int getNegativeCacheCapacity() {
+    return negativeCacheCapacity;
+  }
+
+  public void setNegativeCacheCapacity(int negativeCacheCapacity) {
+    this.negativeCacheCapacity = negativeCacheCapacity;
+  }
+
+  public ProviderHttpClient getProviderHttpClient() {
+    return providerHttpClient;
+  }
+
+  public void setProviderHttpClient(ProviderHttpClient providerHttpClient) {
+    this.providerHttpClient = providerHttpClient;
+  }
+
   public NodeCredibility getNodeCredibility() {
     return nodeCredibility;
   }
@@ -1364,6 +2064,16 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     this.nodeCredibility = nodeCredibility;
   }
 
+  public EvaluationAggregator getEvaluationAggregator() {
+    return evaluationAggregator;
+  }
+
+  public void setEvaluationAggregator(
+    EvaluationAggregator evaluationAggregator
+  ) {
+    this.evaluationAggregator = evaluationAggregator;
+  }
+
   public CsvWriterService getCsvWriter() {
     return csvWriter;
   }
@@ -1380,6 +2090,14 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     this.useLatestCredibility = useLatestCredibility;
   }
 
+  public String getCredibilityDirectory() {
+    return credibilityDirectory;
+  }
+
+  public void setCredibilityDirectory(String credibilityDirectory) {
+    this.credibilityDirectory = credibilityDirectory;
+  }
+
   public double getReputationValue() {
     return reputationValue;
   }
@@ -1425,6 +2143,15 @@ public class Node implements NodeTypeService, ILedgerSubscriber {
     this.useReputation = useReputation;
   }
 
+  public boolean isUseNativeKMeans() {
+    return useNativeKMeans;
+  }
+
+  public void setUseNativeKMeans(boolean useNativeKMeans) {
+    this.useNativeKMeans = useNativeKMeans;
+    this.kMeans.setUseNativeKMeans(useNativeKMeans);
+  }
+
   public double getCurrentReputation() {
     return currentReputation;
   }
@@ -0,0 +1,197 @@
+package reputation.node.models;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import reputation.node.enums.NodeServiceType;
+
+/**
+ * Mantém os nós que prestam cada tipo de serviço, a partir das respostas às
+ * requisições de serviço publicadas na Tangle, inclusive aquelas destinadas a
+ * outros nós. Cada resposta permanece válida pelo 'ttl' do seu tipo de
+ * serviço, ou pelo 'ttl' padrão, caso o tipo não tenha um próprio.
+ *
+ * @author Allan Capistrano
+ * @version 1.1.0
+ */
+public class ProviderDirectory {
+
+  private final long ttl;
+  private final Map<NodeServiceType, Long> ttlByType;
+  private final double refreshAhead;
+  private final Map<NodeServiceType, Map<String, CachedProvider>> providers = new ConcurrentHashMap<>();
+  private final Map<NodeServiceType, Long> refreshRequestedAt = new ConcurrentHashMap<>();
+
+  /**
+   * Método construtor.
+   *
+   * @param ttl long - Tempo (milissegundos) de validade de uma resposta. Caso
+   * seja 0, nenhuma resposta é mantida.
+   * @param refreshAhead double - Fração do 'ttl' a partir da qual uma nova
+   * requisição de serviço é feita, antes que as respostas expirem.
+   */
+  public ProviderDirectory(long ttl, double refreshAhead) {
+    this(ttl, Collections.emptyMap(), refreshAhead);
+  }
+
+  /**
+   * Método construtor.
+   *
+   * @param ttl long - Tempo (milissegundos) de validade de uma resposta dos
+   * tipos de serviço sem um tempo próprio. Caso seja 0, nenhuma resposta é
+   * mantida.
+   * @param ttlByType Map<NodeServiceType, Long> - Tempo (milissegundos) de
+   * validade de uma resposta de cada tipo de serviço.
+   * @param refreshAhead double - Fração do 'ttl' a partir da qual uma nova
+   * requisição de serviço é feita, antes que as respostas expirem.
+   */
+  public ProviderDirectory(
+    long ttl,
+    Map<NodeServiceType, Long> ttlByType,
+    double refreshAhead
+  ) {
+    this.ttl = ttl;
+    this.ttlByType =
+      ttlByType.isEmpty()
+        ? Collections.emptyMap()
+        : new EnumMap<>(ttlByType);
+    this.refreshAhead = refreshAhead;
+  }
+
+  /**
+   * Adiciona a resposta de um nó, substituindo a resposta anterior do mesmo
+   * nó.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço.
+   * @param response Transaction - Transação com os serviços do nó.
+   */
+  public void put(NodeServiceType nodeServiceType, Transaction response) {
+    if (!this.isEnabled(nodeServiceType)) {
+      return;
+    }
+
+    this.providers.computeIfAbsent(
+        nodeServiceType,
+        type -> new ConcurrentHashMap<>()
+      )
+      .put(
+        response.getSource(),
+        new CachedProvider(response, System.currentTimeMillis())
+      );
+  }
+
+  /**
+   * Obtém as respostas ainda válidas de um tipo de serviço, descartando as
+   * que expiraram.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço.
+   * @return List<Transaction>
+   */
+  public List<Transaction> getProviders(NodeServiceType nodeServiceType) {
+    List<Transaction> responses = new ArrayList<>();
+    Map<String, CachedProvider> cachedProviders =
+      this.providers.get(nodeServiceType);
+
+    if (cachedProviders == null) {
+      return responses;
+    }
+
+    long now = System.currentTimeMillis();
+    long ttl = this.getTtl(nodeServiceType);
+    Iterator<CachedProvider> iterator = cachedProviders.values().iterator();
+
+    while (iterator.hasNext()) {
+      CachedProvider cachedProvider = iterator.next();
+
+      if (now - cachedProvider.receivedAt >= ttl) {
+        iterator.remove();
+      } else {
+        responses.add(cachedProvider.response);
+      }
+    }
+
+    return responses;
+  }
+
+  /**
+   * Verifica se as respostas de um tipo de serviço estão próximas de expirar,
+   * e registra que uma nova requisição será feita. Uma nova requisição do
+   * mesmo serviço só é indicada após 'interval' milissegundos.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço.
+   * @param interval long - Tempo (milissegundos) mínimo entre requisições.
+   * @return boolean
+   */
+  public boolean shouldRefresh(NodeServiceType nodeServiceType, long interval) {
+    Map<String, CachedProvider> cachedProviders =
+      this.providers.get(nodeServiceType);
+
+    if (cachedProviders == null) {
+      return false;
+    }
+
+    long now = System.currentTimeMillis();
+    long newest = Long.MIN_VALUE;
+
+    for (CachedProvider cachedProvider : cachedProviders.values()) {
+      newest = Math.max(newest, cachedProvider.receivedAt);
+    }
+
+    if (
+      newest == Long.MIN_VALUE ||
+      now - newest < this.getTtl(nodeServiceType) * this.refreshAhead
+    ) {
+      return false;
+    }
+
+    Long requestedAt = this.refreshRequestedAt.get(nodeServiceType);
+
+    if (requestedAt != null && now - requestedAt < interval) {
+      return false;
+    }
+
+    this.refreshRequestedAt.put(nodeServiceType, now);
+
+    return true;
+  }
+
+  /**
+   * Verifica se as respostas de um tipo de serviço são mantidas.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço.
+   * @return boolean
+   */
+  public boolean isEnabled(NodeServiceType nodeServiceType) {
+    return this.getTtl(nodeServiceType) > 0;
+  }
+
+  /**
+   * Obtém o tempo (milissegundos) de validade de uma resposta de um tipo de
+   * serviço.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço.
+   * @return long
+   */
+  public long getTtl(NodeServiceType nodeServiceType) {
+    return this.ttlByType.getOrDefault(nodeServiceType, this.ttl);
+  }
+
+  /**
+   * Resposta de um nó, juntamente com o momento em que foi recebida.
+   */
+  private static final class CachedProvider {
+
+    private final Transaction response;
+    private final long receivedAt;
+
+    private CachedProvider(Transaction response, long receivedAt) {
+      this.response = response;
+      this.receivedAt = receivedAt;
+    }
+  }
+}
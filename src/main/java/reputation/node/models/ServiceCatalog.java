@@ -0,0 +1,122 @@
+package reputation.node.models;
+
+import br.ufba.dcc.wiser.soft_iot.entities.Device;
+import br.ufba.dcc.wiser.soft_iot.entities.Sensor;
+import dlt.client.tangle.hornet.model.DeviceSensorId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sensores dos dispositivos conectados ao nó, agrupados por tipo de serviço.
+ * A cada atualização, somente as listas dos tipos de serviço dos dispositivos
+ * adicionados, removidos ou alterados são copiadas, e o catálogo é
+ * substituído por um novo, que nunca é alterado após publicado. Desta forma,
+ * o catálogo pode ser lido sem nenhuma trava.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class ServiceCatalog {
+
+  private volatile Map<String, List<DeviceSensorId>> catalog = Collections.emptyMap();
+  /* Tipos de serviço oferecidos por cada dispositivo do catálogo atual. */
+  private final Map<String, Set<String>> typesByDevice = new HashMap<>();
+
+  /**
+   * Atualiza o catálogo com as alterações da lista de dispositivos.
+   *
+   * @param removedDeviceIds List<String> - IDs dos dispositivos removidos.
+   * @param updatedDevices List<Device> - Dispositivos adicionados ou que
+   * tiveram os seus sensores alterados.
+   */
+  public synchronized void update(
+    List<String> removedDeviceIds,
+    List<Device> updatedDevices
+  ) {
+    /* IDs dos dispositivos cujos sensores devem sair de cada tipo de serviço. */
+    Map<String, Set<String>> removedByType = new HashMap<>();
+    List<String> outdatedDeviceIds = new ArrayList<>(removedDeviceIds);
+
+    updatedDevices.forEach(d -> outdatedDeviceIds.add(d.getId()));
+
+    for (String deviceId : outdatedDeviceIds) {
+      Set<String> types = this.typesByDevice.remove(deviceId);
+
+      if (types != null) {
+        for (String type : types) {
+          removedByType
+            .computeIfAbsent(type, t -> new HashSet<>())
+            .add(deviceId);
+        }
+      }
+    }
+
+    Map<String, List<DeviceSensorId>> changedTypes = new HashMap<>();
+
+    removedByType.forEach((type, deviceIds) -> {
+      List<DeviceSensorId> deviceSensorIdList = new ArrayList<>(
+        this.catalog.getOrDefault(type, Collections.emptyList())
+      );
+
+      deviceSensorIdList.removeIf(ds -> deviceIds.contains(ds.getDeviceId()));
+      changedTypes.put(type, deviceSensorIdList);
+    });
+
+    for (Device d : updatedDevices) {
+      for (Sensor s : d.getSensors()) {
+        changedTypes
+          .computeIfAbsent(
+            s.getType(),
+            type ->
+              new ArrayList<>(
+                this.catalog.getOrDefault(type, Collections.emptyList())
+              )
+          )
+          .add(new DeviceSensorId(d.getId(), s.getId()));
+
+        this.typesByDevice
+          .computeIfAbsent(d.getId(), id -> new HashSet<>())
+          .add(s.getType());
+      }
+    }
+
+    if (changedTypes.isEmpty()) {
+      return;
+    }
+
+    Map<String, List<DeviceSensorId>> newCatalog = new HashMap<>(this.catalog);
+
+    changedTypes.forEach((type, deviceSensorIdList) -> {
+      if (deviceSensorIdList.isEmpty()) {
+        newCatalog.remove(type);
+      } else {
+        newCatalog.put(type, Collections.unmodifiableList(deviceSensorIdList));
+      }
+    });
+
+    this.catalog = Collections.unmodifiableMap(newCatalog);
+  }
+
+  /**
+   * Remove todos os dispositivos do catálogo.
+   */
+  public synchronized void clear() {
+    this.catalog = Collections.emptyMap();
+    this.typesByDevice.clear();
+  }
+
+  /**
+   * Sensores que oferecem um tipo de serviço.
+   *
+   * @param serviceType String - Tipo de serviço.
+   * @return List<DeviceSensorId> - Lista que não pode ser alterada.
+   */
+  public List<DeviceSensorId> get(String serviceType) {
+    return this.catalog.getOrDefault(serviceType, Collections.emptyList());
+  }
+}
@@ -1,26 +1,42 @@
 package reputation.node.mqtt;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.eclipse.paho.client.mqttv3.IMqttMessageListener;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
+import reputation.node.models.DeviceRequest;
 import reputation.node.models.Node;
+import reputation.node.utils.DeviceResponseParser;
+import reputation.node.utils.DeviceResponseParser.DeviceResponse;
 import reputation.node.utils.MQTTClient;
 
 /**
+ * Recebe as respostas dos dispositivos. Pode se inscrever no tópico de cada
+ * dispositivo ou, com 'wildcardSubscription', uma única vez em 'dev/+/RES'.
+ * Em ambos os casos, o ID do dispositivo é obtido a partir do tópico, e
+ * mensagens de dispositivos desconhecidos são descartadas.
  *
  * @author Allan Capistrano
- * @version 1.1.0
+ * @version 1.5.0
  */
 public class ListenerDevices implements IMqttMessageListener {
 
   /*-------------------------Constantes---------------------------------------*/
   private static final int QOS = 1;
+  private static final String WILDCARD_TOPIC = "dev/+/RES";
   /*--------------------------------------------------------------------------*/
 
   private MQTTClient MQTTClient;
   private final Node node;
+  private final boolean wildcardSubscription;
+  /* Tópico de resposta -> ID do dispositivo, substituído a cada alteração. */
+  private volatile Map<String, String> deviceIdByTopic = Collections.emptyMap();
+  private final Runnable resubscribeTask = this::resubscribe;
   private static final Logger logger = Logger.getLogger(
     ListenerDevices.class.getName()
   );
@@ -30,64 +46,167 @@ public class ListenerDevices implements IMqttMessageListener {
    *
    * @param MQTTClient MQTTClient -  Cliente MQTT.
    * @param node NodeType - Nó que executa o ListenerDevice.
+   * @param wildcardSubscription boolean - Se deve se inscrever uma única vez
+   * no tópico de resposta de todos os dispositivos.
    */
-  public ListenerDevices(MQTTClient MQTTClient, Node node) {
+  public ListenerDevices(
+    MQTTClient MQTTClient,
+    Node node,
+    boolean wildcardSubscription
+  ) {
     this.MQTTClient = MQTTClient;
     this.node = node;
+    this.wildcardSubscription = wildcardSubscription;
   }
 
   /**
-   * Se inscreve no tópico no qual o dispositivo irá responder às publicações
-   * do nó.
-   
-   * @param deviceId String - ID do dispositivo para inscrever no tópico.
+   * Se inscreve no tópico de resposta de todos os dispositivos, caso esteja
+   * usando 'wildcardSubscription', e passa a refazer as inscrições sempre que
+   * o cliente MQTT se reconectar ao servidor.
    */
-  public void subscribe(String deviceId) {
-    String topic = String.format("dev/%s/RES", deviceId);
-    logger.info("Subscribing to: " + topic);
+  public void start() {
+    this.MQTTClient.addReconnectListener(this.resubscribeTask);
 
-    this.MQTTClient.subscribe(QOS, this, topic);
+    if (this.wildcardSubscription) {
+      logger.info("Subscribing to: " + WILDCARD_TOPIC);
+
+      this.MQTTClient.subscribe(QOS, this, WILDCARD_TOPIC);
+    }
   }
 
   /**
-   * Se desinscreve do tópico de um dispositivo.
+   * Se desinscreve do tópico de resposta de todos os dispositivos, caso esteja
+   * usando 'wildcardSubscription'.
+   */
+  public void stop() {
+    this.MQTTClient.removeReconnectListener(this.resubscribeTask);
+
+    if (this.wildcardSubscription) {
+      logger.info("Unsubscribing from: " + WILDCARD_TOPIC);
+
+      this.MQTTClient.unsubscribe(WILDCARD_TOPIC);
+    }
+  }
+
+  /**
+   * Atualiza os dispositivos cujas respostas são aceitas, substituindo o mapa
+   * usado pelo 'messageArrived' uma única vez. Caso não esteja usando
+   * 'wildcardSubscription', se desinscreve dos tópicos dos dispositivos
+   * removidos e se inscreve nos tópicos dos dispositivos adicionados, com uma
+   * única requisição ao servidor para cada operação.
    *
-   * @param deviceId String - ID do dispositivo para desinscrever do tópico.
+   * @param removedDeviceIds List<String> - IDs dos dispositivos removidos.
+   * @param addedDeviceIds List<String> - IDs dos dispositivos adicionados.
    */
-  public void unsubscribe(String deviceId) {
-    String topic = String.format("dev/%s/RES", deviceId);
-    logger.info("Unsubscribing from: " + topic);
+  public void update(List<String> removedDeviceIds, List<String> addedDeviceIds) {
+    String[] removedTopics = responseTopics(removedDeviceIds);
+    String[] addedTopics = responseTopics(addedDeviceIds);
+
+    synchronized (this) {
+      Map<String, String> updated = new HashMap<>(this.deviceIdByTopic);
+
+      for (String topic : removedTopics) {
+        updated.remove(topic);
+      }
+
+      for (int i = 0; i < addedTopics.length; i++) {
+        updated.put(addedTopics[i], addedDeviceIds.get(i));
+      }
+
+      this.deviceIdByTopic = Collections.unmodifiableMap(updated);
+    }
+
+    if (!this.wildcardSubscription) {
+      if (removedTopics.length > 0) {
+        logger.info("Unsubscribing from " + removedTopics.length + " topics.");
 
-    this.MQTTClient.unsubscribe(topic);
+        this.MQTTClient.unsubscribe(removedTopics);
+      }
+
+      if (addedTopics.length > 0) {
+        logger.info("Subscribing to " + addedTopics.length + " topics.");
+
+        this.MQTTClient.subscribe(QOS, this, addedTopics);
+      }
+    }
+  }
+
+  /**
+   * Refaz as inscrições, caso o servidor não tenha mantido a sessão do
+   * cliente após uma reconexão.
+   */
+  private void resubscribe() {
+    if (this.wildcardSubscription) {
+      logger.info("Resubscribing to: " + WILDCARD_TOPIC);
+
+      this.MQTTClient.subscribe(QOS, this, WILDCARD_TOPIC);
+    } else {
+      String[] topics = this.deviceIdByTopic.keySet().toArray(new String[0]);
+
+      logger.info("Resubscribing to " + topics.length + " topics.");
+
+      this.MQTTClient.subscribe(QOS, this, topics);
+    }
+  }
+
+  private static String[] responseTopics(List<String> deviceIds) {
+    String[] topics = new String[deviceIds.size()];
+
+    for (int i = 0; i < topics.length; i++) {
+      topics[i] = responseTopic(deviceIds.get(i));
+    }
+
+    return topics;
+  }
+
+  private static String responseTopic(String deviceId) {
+    return String.format("dev/%s/RES", deviceId);
   }
 
   @Override
   public void messageArrived(String topic, MqttMessage message)
     throws Exception {
-    final String mqttMessage = new String(message.getPayload());
+    String deviceId = this.deviceIdByTopic.get(topic);
+
+    /* Dispositivo que não está conectado ao nó. */
+    if (deviceId == null) {
+      logger.fine("Ignoring message from unknown device topic: " + topic);
 
-    JsonObject jsonResponse = new Gson()
-      .fromJson(mqttMessage, JsonObject.class);
+      return;
+    }
 
-    if (jsonResponse.get("METHOD").getAsString().equals("GET")) {
-      logger.info(mqttMessage);
+    DeviceResponse response = DeviceResponseParser.parse(message.getPayload());
 
-      String deviceId = jsonResponse
-        .get("HEADER")
-        .getAsJsonObject()
-        .get("NAME")
-        .getAsString();
+    if (response != null) {
+      if (logger.isLoggable(Level.FINE)) {
+        logger.fine(new String(message.getPayload(), StandardCharsets.UTF_8));
+      }
 
       logger.info("Device Id: " + deviceId);
 
-      if (this.node.getWaitDeviceResponseTask() != null) {
-        this.node.getWaitDeviceResponseTask().cancel();
+      /* Os sensores presentes no corpo da resposta identificam a requisição. */
+      DeviceRequest request =
+        this.node.getDeviceRequests()
+          .complete(deviceId, response.getSensorIds());
+
+      if (request == null) {
+        logger.info("Ignoring response without a pending request.");
+
+        return;
       }
+
+      logger.info(
+        String.format(
+          "Device %s/%s answered in %d ms.",
+          request.getDeviceId(),
+          request.getSensorId(),
+          request.getRoundTripTime()
+        )
+      );
       /* Avaliação de serviço prestado corretamente. */
       try {
         int serviceEvaluation = 1;
-        float nodeCredibility =
-          this.node.getNodeCredibility(this.node.getNodeType().getNodeId());
+        float nodeCredibility = this.node.getOwnCredibility();
         float evaluationValue = serviceEvaluation * nodeCredibility;
 
         this.node.getNodeType()
@@ -98,6 +217,7 @@ public class ListenerDevices implements IMqttMessageListener {
             nodeCredibility,
             evaluationValue
           );
+        this.node.getDevicePoller().markEvaluated(deviceId);
       } catch (Exception e) {
         logger.warning("Could not add transaction on tangle network.");
       }
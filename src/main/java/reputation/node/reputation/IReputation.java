@@ -2,11 +2,12 @@ package reputation.node.reputation;
 
 import dlt.client.tangle.hornet.model.transactions.Transaction;
 import java.util.List;
+import reputation.node.reputation.evaluation.TargetEvaluations;
 
 /**
  *
  * @author Allan Capistrano
- * @version 1.1.0
+ * @version 1.2.0
  */
 public interface IReputation {
   /**
@@ -25,4 +26,22 @@ public interface IReputation {
     boolean useLatestCredibility,
     boolean useCredibility
   );
+
+  /**
+   * Calcula a reputação de uma coisa a partir dos agregados de suas
+   * avaliações.
+   *
+   * @param targetEvaluations TargetEvaluations - Agregados das avaliações da
+   * coisa.
+   * @param useLatestCredibility boolean - Indica se é para usar ou não a
+   * credibilidade mais recente para o cálculo da reputação.
+   * @param useCredibility boolean - Indica se é para usar ou não a
+   * credibilidade no cálculo da reputação.
+   * @return Double
+   */
+  Double calculate(
+    TargetEvaluations targetEvaluations,
+    boolean useLatestCredibility,
+    boolean useCredibility
+  );
 }
@@ -3,12 +3,14 @@ package reputation.node.reputation;
 import dlt.client.tangle.hornet.model.transactions.Transaction;
 import dlt.client.tangle.hornet.model.transactions.reputation.Evaluation;
 import java.util.List;
+import reputation.node.reputation.evaluation.SourceEvaluations;
+import reputation.node.reputation.evaluation.TargetEvaluations;
 
 /**
  * Responsável por calcular a reputação de uma coisa.
  *
  * @author Allan Capistrano
- * @version 1.0.0
+ * @version 1.1.0
  */
 public class Reputation implements IReputation {
 
@@ -35,4 +37,37 @@ public class Reputation implements IReputation {
       .average()
       .orElse(0.5);
   }
+
+  /**
+   * Calcula a reputação de uma coisa a partir dos agregados de suas
+   * avaliações.
+   *
+   * @param targetEvaluations TargetEvaluations - Agregados das avaliações da
+   * coisa.
+   * @param useLatestCredibility boolean - Indica se é para usar ou não a
+   * credibilidade mais recente para o cálculo da reputação.
+   * @param useCredibility boolean - Indica se é para usar ou não a
+   * credibilidade no cálculo da reputação.
+   * @return Double
+   */
+  @Override
+  public Double calculate(
+    TargetEvaluations targetEvaluations,
+    boolean useLatestCredibility,
+    boolean useCredibility
+  ) {
+    long amountEvaluations = 0;
+    long sumServiceEvaluations = 0;
+
+    for (SourceEvaluations sourceEvaluations : targetEvaluations.getSourcesEvaluations()) {
+      amountEvaluations += sourceEvaluations.getAmountEvaluations();
+      sumServiceEvaluations += sourceEvaluations.getSumServiceEvaluations();
+    }
+
+    if (amountEvaluations == 0) {
+      return 0.5;
+    }
+
+    return (double) sumServiceEvaluations / amountEvaluations;
+  }
 }
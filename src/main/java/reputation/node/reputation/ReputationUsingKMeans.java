@@ -1,49 +1,45 @@
 package reputation.node.reputation;
 
 import dlt.client.tangle.hornet.model.transactions.Transaction;
-import dlt.client.tangle.hornet.model.transactions.reputation.Evaluation;
 import java.util.List;
-import java.util.OptionalDouble;
-import java.util.stream.Collectors;
-import python.to.java.services.IKMeans;
-import reputation.node.models.SourceCredibility;
 import reputation.node.reputation.credibility.INodeCredibility;
 import reputation.node.reputation.credibility.NodeCredibility;
+import reputation.node.reputation.evaluation.SourceEvaluations;
+import reputation.node.reputation.evaluation.TargetEvaluations;
+import reputation.node.reputation.kmeans.ICredibilityClustering;
 
 /**
  * Responsável por calcular a reputação de uma coisa, com o uso do algoritmo
  * KMeans.
  *
  * @author Allan Capistrano
- * @version 1.1.0
+ * @version 1.5.0
  */
 public class ReputationUsingKMeans implements IReputation {
 
-  private final IKMeans kMeans;
+  private final ICredibilityClustering kMeans;
   private final INodeCredibility nodeCredibility;
-  private final String sourceId;
 
   /**
    * Método construtor
    *
-   * @param kMeans IKMeans - Referência ao bundle responsável pela execução do
+   * @param kMeans ICredibilityClustering - Responsável pela execução do
    * algoritmo KMeans.
    * @param nodeCredibility NodeCredibility - Objeto responsável por lidar com
    * a credibilidade dos nós.
-   * @param sourceId String - ID do nó avaliador.
    */
   public ReputationUsingKMeans(
-    IKMeans kMeans,
-    NodeCredibility nodeCredibility,
-    String sourceId
+    ICredibilityClustering kMeans,
+    NodeCredibility nodeCredibility
   ) {
     this.kMeans = kMeans;
-    this.sourceId = sourceId;
     this.nodeCredibility = nodeCredibility;
   }
 
   /**
-   * Calcula a reputação de uma coisa.
+   * Calcula a reputação de uma coisa. As transações são agrupadas por nó
+   * avaliador em uma única passagem, e a reputação é calculada a partir
+   * desses agregados.
    *
    * @param evaluationTransactions List<Transaction> - Lista com as transações
    * de avaliação da coisa.
@@ -58,113 +54,102 @@ public class ReputationUsingKMeans implements IReputation {
     List<Transaction> evaluationTransactions,
     boolean useLatestCredibility,
     boolean useCredibility
+  ) {
+    if (evaluationTransactions == null) {
+      return 0.5;
+    }
+
+    return this.calculateFromAggregates(
+        SourceEvaluations.aggregate(evaluationTransactions),
+        useLatestCredibility,
+        useCredibility
+      );
+  }
+
+  /**
+   * Calcula a reputação de uma coisa a partir dos agregados de suas
+   * avaliações, sem a necessidade de percorrer todo o histórico.
+   *
+   * @param targetEvaluations TargetEvaluations - Agregados das avaliações da
+   * coisa.
+   * @param useLatestCredibility boolean - Indica se é para usar ou não a
+   * credibilidade mais recente para o cálculo da reputação.
+   * @param useCredibility boolean - Indica se é para usar ou não a
+   * credibilidade no cálculo da reputação.
+   * @return Double
+   */
+  @Override
+  public Double calculate(
+    TargetEvaluations targetEvaluations,
+    boolean useLatestCredibility,
+    boolean useCredibility
+  ) {
+    return this.calculateFromAggregates(
+        targetEvaluations.getSourcesEvaluations(),
+        useLatestCredibility,
+        useCredibility
+      );
+  }
+
+  /**
+   * Calcula a reputação a partir dos agregados de cada nó avaliador. Somente
+   * as avaliações dos nós que pertencem ao grupo com as maiores
+   * credibilidades, segundo o algoritmo KMeans, são consideradas.
+   *
+   * @param sourcesEvaluations List<SourceEvaluations> - Agregados das
+   * avaliações de cada nó avaliador.
+   * @param useLatestCredibility boolean - Indica se é para usar ou não a
+   * credibilidade mais recente para o cálculo da reputação.
+   * @param useCredibility boolean - Indica se é para usar ou não a
+   * credibilidade no cálculo da reputação.
+   * @return double
+   */
+  private double calculateFromAggregates(
+    List<SourceEvaluations> sourcesEvaluations,
+    boolean useLatestCredibility,
+    boolean useCredibility
   ) {
     double reputation = 0.5;
+    int amountSources = sourcesEvaluations.size();
+
+    if (amountSources > 0) {
+      /* Obtendo o valor da credibilidade mais recente dos nós avaliadores. */
+      float[] nodesCredibility = new float[amountSources];
+
+      for (int i = 0; i < amountSources; i++) {
+        nodesCredibility[i] =
+          this.nodeCredibility.get(sourcesEvaluations.get(i).getSource());
+      }
+
+      boolean[] isHighestCredibility = this.kMeans.highestCluster(
+        nodesCredibility
+      );
+
+      double sum = 0;
+      long amountEvaluations = 0;
+
+      for (int i = 0; i < amountSources; i++) {
+        /* Somente os nós que possuem as credibilidades calculadas pelo algoritmo KMeans. */
+        if (isHighestCredibility[i]) {
+          SourceEvaluations sourceEvaluations = sourcesEvaluations.get(i);
+
+          if (useLatestCredibility && useCredibility) {
+            /* Nota de serviço ponderada pela credibilidade mais recente do nó avaliador. */
+            sum +=
+              (double) nodesCredibility[i] *
+              sourceEvaluations.getSumServiceEvaluations();
+          } else {
+            /* Valor da avaliação, com a credibilidade no momento da avaliação. */
+            sum += sourceEvaluations.getSumValues();
+          }
 
-    List<SourceCredibility> nodesCredibilityWithSource =
-      this.nodeCredibility.getNodesEvaluatorsCredibility(
-          evaluationTransactions,
-          this.sourceId,
-          true
-        );
-
-    if (!nodesCredibilityWithSource.isEmpty()) {
-      /* Obtendo somente o valor da credibilidade dos nós avaliadores. */
-      List<Float> nodesCredibility = nodesCredibilityWithSource
-        .stream()
-        .map(SourceCredibility::getCredibility)
-        .collect(Collectors.toList());
-
-      /* Executando o algoritmo KMeans. */
-      List<Float> kMeansResult = this.kMeans.execute(nodesCredibility);
-
-      /* Obtendo somente os nós que possuem as credibilidades calculadas pelo algoritmo KMeans. */
-      List<SourceCredibility> nodesWithHighestCredibilities = nodesCredibilityWithSource
-        .stream()
-        .filter(node -> kMeansResult.contains(node.getCredibility()))
-        .collect(Collectors.toList());
-
-      OptionalDouble temp;
-
-      if (useLatestCredibility) { // Cálculo da reputação usando a credibilidade mais recente.
-        /**
-         * Calculando a reputação a partir da nota de serviço e das credibilidades mais recentes dos nós avaliadores.
-         */
-
-        /* Caso utilize a credibilidade para o cálculo da reputação. */
-        if (useCredibility) {
-          /* Obtendo somente as transações dos nós possuem as credibilidades calculadas pelo algoritmo KMeans.  */
-          List<Transaction> evaluationTransactionsOfNodesWithHighestCredibilities = evaluationTransactions
-            .stream()
-            .filter(nodeEvaluation ->
-              nodesWithHighestCredibilities
-                .stream()
-                .anyMatch(sourceCredibility ->
-                  nodeEvaluation
-                    .getSource()
-                    .equals(sourceCredibility.getSource())
-                )
-            )
-            .collect(Collectors.toList());
-
-          temp =
-            evaluationTransactionsOfNodesWithHighestCredibilities
-              .stream()
-              .flatMapToDouble(nodeEvaluation ->
-                nodesWithHighestCredibilities
-                  .stream()
-                  .filter(sourceCredibility ->
-                    nodeEvaluation
-                      .getSource()
-                      .equals(sourceCredibility.getSource())
-                  )
-                  .mapToDouble(sourceCredibility ->
-                    sourceCredibility.getCredibility() *
-                    ((Evaluation) nodeEvaluation).getServiceEvaluation()
-                  )
-              )
-              .average();
-        } else { // Caso não precise da credibilidade.
-          temp =
-            evaluationTransactions
-              .stream()
-              .filter(nodeEvaluation ->
-                nodesWithHighestCredibilities
-                  .stream()
-                  .anyMatch(sourceCredibility ->
-                    nodeEvaluation
-                      .getSource()
-                      .equals(sourceCredibility.getSource())
-                  )
-              )
-              .mapToDouble(nodeEvaluation ->
-                ((Evaluation) nodeEvaluation).getValue()
-              )
-              .average();
+          amountEvaluations += sourceEvaluations.getAmountEvaluations();
         }
-      } else { // Cálculo da reputação usando a credibilidade no momento da avaliação.
-        /* Calculando a reputação a partir da média das avaliações dos nós calculadas pelo algoritmo KMeans. */
-        temp =
-          evaluationTransactions
-            .stream()
-            .filter(nodeEvaluation ->
-              nodesWithHighestCredibilities
-                .stream()
-                .anyMatch(sourceCredibility ->
-                  nodeEvaluation
-                    .getSource()
-                    .equals(sourceCredibility.getSource())
-                )
-            )
-            .mapToDouble(nodeEvaluation ->
-              ((Evaluation) nodeEvaluation).getValue()
-            )
-            .average();
       }
 
       /* Caso existam transações de avaliação, atualiza o valor de R como a média dessas avaliações. */
-      if (temp.isPresent()) {
-        reputation = temp.getAsDouble();
+      if (amountEvaluations > 0) {
+        reputation = sum / amountEvaluations;
       }
     }
 
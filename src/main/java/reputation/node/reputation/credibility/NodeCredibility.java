@@ -1,56 +1,145 @@
 package reputation.node.reputation.credibility;
 
+import dlt.client.tangle.hornet.enums.TransactionType;
 import dlt.client.tangle.hornet.model.transactions.Transaction;
 import dlt.client.tangle.hornet.model.transactions.reputation.Credibility;
+import dlt.client.tangle.hornet.services.ILedgerSubscriber;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import reputation.node.models.SourceCredibility;
 import reputation.node.tangle.LedgerConnector;
 
 /**
- * Responsável por lidar com a credibilidade do nó.
+ * Responsável por lidar com a credibilidade do nó. Toda credibilidade na
+ * cache possui uma inscrição no índice de credibilidade do nó, e as inscrições
+ * só são alteradas sob o lock da cache, juntamente com a cache.
  *
  * @author Allan Capistrano
- * @version 1.0.0
+ * @version 1.1.1
  */
-public final class NodeCredibility implements INodeCredibility {
+public final class NodeCredibility
+  implements INodeCredibility, ILedgerSubscriber {
 
   private LedgerConnector ledgerConnector;
+  private int credibilityCacheSize;
+  private Map<String, CachedCredibility> cache;
+  private final Set<String> subscribedNodes = new HashSet<>();
 
   public NodeCredibility() {}
 
   /**
-   * Obtém a credibilidade mais recente de um nó.
+   * Executa o que foi definido na função quando o bundle for inicializado.
+   */
+  public void start() {
+    /* Cache ordenada por acesso, descartando a credibilidade menos usada. */
+    this.cache =
+      new LinkedHashMap<String, CachedCredibility>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(
+          Map.Entry<String, CachedCredibility> eldest
+        ) {
+          if (this.size() > credibilityCacheSize) {
+            unsubscribe(eldest.getKey());
+
+            return true;
+          }
+
+          return false;
+        }
+      };
+  }
+
+  /**
+   * Executa o que foi definido na função quando o bundle for finalizado.
+   */
+  public void stop() {
+    synchronized (this.cache) {
+      for (String nodeId : new ArrayList<>(this.subscribedNodes)) {
+        this.unsubscribe(nodeId);
+      }
+
+      this.cache.clear();
+    }
+  }
+
+  /**
+   * Obtém a credibilidade mais recente de um nó. A credibilidade é lida da
+   * Tangle somente caso não esteja na cache, e a partir daí é mantida
+   * atualizada pela inscrição no índice de credibilidade do nó.
    *
    * @param nodeId String - ID do nó que se deseja saber a credibilidade.
    * @return float
    */
   public float get(String nodeId) {
+    CachedCredibility cachedCredibility;
+
+    synchronized (this.cache) {
+      cachedCredibility = this.cache.get(nodeId);
+    }
+
+    if (cachedCredibility != null) {
+      return cachedCredibility.value;
+    }
+
+    /* O index para pegar a credibilidade segue o formato: cred_<id do nó>. */
     String index = "cred_" + nodeId;
 
+    /* Inscrevendo-se antes da leitura para não perder nenhuma atualização. */
+    synchronized (this.cache) {
+      if (this.subscribedNodes.add(nodeId)) {
+        this.ledgerConnector.subscribe(index, this);
+      }
+    }
+
     List<Transaction> tempCredibility =
-      this.ledgerConnector.getLedgerReader()
-        .getTransactionsByIndex(index, false);
-
-    float nodeCredibility = Optional
-      .ofNullable(tempCredibility)
-      .map(transactions ->
-        transactions
-          .stream()
-          .sorted((t1, t2) ->/* Ordenando em ordem decrescente. */
-            Long.compare(t2.getCreatedAt(), t1.getCreatedAt())
-          )
-          .collect(Collectors.toList())
-      )
-      .filter(list -> !list.isEmpty())
+      this.ledgerConnector.getTransactionsByIndex(index, false);
+
+    /* Caso o nó ainda não tenha calculado a sua credibilidade, por padrão é 0.5. */
+    CachedCredibility latestCredibility = new CachedCredibility(
+      (float) 0.5,
+      Long.MIN_VALUE
+    );
+
+    if (tempCredibility != null) {
       /* Obtendo a credibilidade mais recente calculada pelo nó */
-      .map(list -> ((Credibility) list.get(0)).getValue())
-      /* Caso o nó ainda não tenha calculado a sua credibilidade, por padrão é 0.5. */
-      .orElse((float) 0.5);
+      for (Transaction transaction : tempCredibility) {
+        if (transaction.getCreatedAt() > latestCredibility.createdAt) {
+          latestCredibility =
+            new CachedCredibility(
+              ((Credibility) transaction).getValue(),
+              transaction.getCreatedAt()
+            );
+        }
+      }
+    }
+
+    synchronized (this.cache) {
+      /* A inscrição pode ter sido removida durante a leitura, caso a
+      credibilidade do nó tenha sido descartada da cache por outra thread.
+      Nesse caso o valor lido não é armazenado, pois não seria atualizado. */
+      if (!this.subscribedNodes.contains(nodeId)) {
+        return latestCredibility.value;
+      }
 
-    return nodeCredibility;
+      cachedCredibility = this.cache.get(nodeId);
+
+      /* Uma atualização mais recente pode ter chegado durante a leitura. */
+      if (
+        cachedCredibility == null ||
+        cachedCredibility.createdAt < latestCredibility.createdAt
+      ) {
+        this.cache.put(nodeId, latestCredibility);
+        cachedCredibility = latestCredibility;
+      }
+    }
+
+    return cachedCredibility.value;
   }
 
   /**
@@ -124,6 +213,51 @@ public final class NodeCredibility implements INodeCredibility {
     return nodesCredibility;
   }
 
+  /**
+   * Responsável por atualizar a cache com as credibilidades recebidas pelo
+   * ZMQ (MQTT).
+   */
+  @Override
+  public void update(Object object, Object object2) {
+    if (
+      object instanceof Credibility &&
+      ((Credibility) object).getType() == TransactionType.REP_CREDIBILITY
+    ) {
+      Credibility credibility = (Credibility) object;
+
+      synchronized (this.cache) {
+        CachedCredibility cachedCredibility =
+          this.cache.get(credibility.getSource());
+
+        /* Somente as credibilidades que estão na cache são atualizadas. */
+        if (
+          cachedCredibility != null &&
+          cachedCredibility.createdAt <= credibility.getCreatedAt()
+        ) {
+          this.cache.put(
+              credibility.getSource(),
+              new CachedCredibility(
+                credibility.getValue(),
+                credibility.getCreatedAt()
+              )
+            );
+        }
+      }
+    }
+  }
+
+  /**
+   * Se desinscreve do índice de credibilidade de um nó. Deve ser chamado sob
+   * o lock da cache.
+   *
+   * @param nodeId String - ID do nó.
+   */
+  private void unsubscribe(String nodeId) {
+    if (this.subscribedNodes.remove(nodeId)) {
+      this.ledgerConnector.unsubscribe("cred_" + nodeId, this);
+    }
+  }
+
   public LedgerConnector getLedgerConnector() {
     return ledgerConnector;
   }
@@ -131,4 +265,27 @@ public final class NodeCredibility implements INodeCredibility {
   public void setLedgerConnector(LedgerConnector ledgerConnector) {
     this.ledgerConnector = ledgerConnector;
   }
+
+  public int getCredibilityCacheSize() {
+    return credibilityCacheSize;
+  }
+
+  public void setCredibilityCacheSize(int credibilityCacheSize) {
+    this.credibilityCacheSize = credibilityCacheSize;
+  }
+
+  /**
+   * Credibilidade armazenada na cache, juntamente com o momento em que foi
+   * calculada.
+   */
+  private static final class CachedCredibility {
+
+    private final float value;
+    private final long createdAt;
+
+    private CachedCredibility(float value, long createdAt) {
+      this.value = value;
+      this.createdAt = createdAt;
+    }
+  }
 }
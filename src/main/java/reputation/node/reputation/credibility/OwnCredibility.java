@@ -0,0 +1,154 @@
+package reputation.node.reputation.credibility;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import dlt.client.tangle.hornet.model.transactions.reputation.Credibility;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Credibilidade do próprio nó. Como o nó é o único que calcula a sua
+ * credibilidade, o valor mantido em memória é o mais recente, e a Tangle só
+ * precisa ser lida na inicialização. O valor também é salvo em um arquivo
+ * local, para que não se perca caso a escrita na Tangle falhe. Como o nome do
+ * arquivo depende somente do ID do nó, ele pode ter sido gerado em outra
+ * Tangle ou em outro experimento, então só é considerado quando a Tangle já
+ * possui credibilidades do nó.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class OwnCredibility {
+
+  /* Caso o nó ainda não tenha calculado a sua credibilidade, por padrão é 0.5. */
+  private static final float DEFAULT_CREDIBILITY = (float) 0.5;
+  private static final String VALUE_KEY = "value";
+  private static final String CREATED_AT_KEY = "createdAt";
+
+  private final Path file;
+  private volatile float value = DEFAULT_CREDIBILITY;
+  private long createdAt = Long.MIN_VALUE;
+  private static final Logger logger = Logger.getLogger(
+    OwnCredibility.class.getName()
+  );
+
+  /**
+   * Método construtor.
+   *
+   * @param file Path - Arquivo em que a credibilidade é salva.
+   */
+  public OwnCredibility(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Carrega a credibilidade mais recente publicada na Tangle e a compara com
+   * a salva no arquivo local, mantendo a mais recente. Caso a Tangle não
+   * possua credibilidades do nó, o arquivo local é ignorado e a credibilidade
+   * padrão é usada.
+   *
+   * @param credibilityTransactions List<Transaction> - Transações do índice
+   * de credibilidade do nó.
+   */
+  public synchronized void load(List<Transaction> credibilityTransactions) {
+    this.value = DEFAULT_CREDIBILITY;
+    this.createdAt = Long.MIN_VALUE;
+
+    if (credibilityTransactions != null) {
+      for (Transaction transaction : credibilityTransactions) {
+        if (
+          transaction instanceof Credibility &&
+          transaction.getCreatedAt() > this.createdAt
+        ) {
+          this.value = ((Credibility) transaction).getValue();
+          this.createdAt = transaction.getCreatedAt();
+        }
+      }
+    }
+
+    /* Arquivo de outra Tangle, ou de um experimento anterior. */
+    if (this.createdAt == Long.MIN_VALUE) {
+      logger.info("No credibility on the Tangle, ignoring the local file.");
+
+      return;
+    }
+
+    this.loadFile();
+  }
+
+  /**
+   * Atualiza a credibilidade e a salva no arquivo local.
+   *
+   * @param value float - Nova credibilidade.
+   */
+  public synchronized void set(float value) {
+    this.value = value;
+    this.createdAt = System.currentTimeMillis();
+
+    Properties properties = new Properties();
+
+    properties.setProperty(VALUE_KEY, String.valueOf(this.value));
+    properties.setProperty(CREATED_AT_KEY, String.valueOf(this.createdAt));
+
+    /* Escrevendo em um arquivo temporário para não corromper o anterior. */
+    Path temporaryFile = this.file.resolveSibling(
+      this.file.getFileName() + ".tmp"
+    );
+
+    try {
+      if (this.file.getParent() != null) {
+        Files.createDirectories(this.file.getParent());
+      }
+
+      try (OutputStream out = Files.newOutputStream(temporaryFile)) {
+        properties.store(out, null);
+      }
+
+      Files.move(
+        temporaryFile,
+        this.file,
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE
+      );
+    } catch (IOException ioe) {
+      logger.warning("Unable to save the node credibility: " + ioe);
+    }
+  }
+
+  public float get() {
+    return value;
+  }
+
+  /**
+   * Substitui a credibilidade pela salva no arquivo local, caso esta seja
+   * mais recente.
+   */
+  private void loadFile() {
+    Properties properties = new Properties();
+
+    try (InputStream in = Files.newInputStream(this.file)) {
+      properties.load(in);
+
+      float fileValue = Float.parseFloat(properties.getProperty(VALUE_KEY));
+      long fileCreatedAt = Long.parseLong(
+        properties.getProperty(CREATED_AT_KEY)
+      );
+
+      if (fileCreatedAt > this.createdAt) {
+        this.value = fileValue;
+        this.createdAt = fileCreatedAt;
+      }
+    } catch (NoSuchFileException nsfe) {
+      /* O nó ainda não salvou a sua credibilidade neste computador. */
+    } catch (IOException | RuntimeException e) {
+      logger.warning("Unable to load the node credibility: " + e);
+    }
+  }
+}
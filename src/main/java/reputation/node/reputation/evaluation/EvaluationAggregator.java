@@ -0,0 +1,117 @@
+package reputation.node.reputation.evaluation;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import dlt.client.tangle.hornet.model.transactions.reputation.Evaluation;
+import dlt.client.tangle.hornet.services.ILedgerSubscriber;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import reputation.node.tangle.LedgerConnector;
+
+/**
+ * Responsável por manter, de forma incremental, os agregados das avaliações
+ * recebidas pelas coisas. O histórico de uma coisa é lido da Tangle somente na
+ * primeira consulta, e as avaliações seguintes são obtidas pela inscrição no
+ * índice da coisa.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class EvaluationAggregator implements ILedgerSubscriber {
+
+  private LedgerConnector ledgerConnector;
+  private final Map<String, TargetEvaluations> targetsEvaluations = new ConcurrentHashMap<>();
+  private static final Logger logger = Logger.getLogger(
+    EvaluationAggregator.class.getName()
+  );
+
+  public EvaluationAggregator() {}
+
+  /**
+   * Executa o que foi definido na função quando o bundle for finalizado.
+   */
+  public void stop() {
+    this.targetsEvaluations.keySet()
+      .forEach(targetId -> this.ledgerConnector.unsubscribe(targetId, this));
+
+    this.targetsEvaluations.clear();
+  }
+
+  /**
+   * Obtém os agregados das avaliações de uma coisa. Na primeira consulta, se
+   * inscreve no índice da coisa e carrega o histórico de avaliações.
+   *
+   * @param targetId String - ID da coisa avaliada.
+   * @return TargetEvaluations
+   */
+  public TargetEvaluations get(String targetId) {
+    TargetEvaluations targetEvaluations = this.targetsEvaluations.get(targetId);
+
+    if (targetEvaluations == null) {
+      TargetEvaluations newTargetEvaluations = new TargetEvaluations(targetId);
+
+      targetEvaluations =
+        this.targetsEvaluations.putIfAbsent(targetId, newTargetEvaluations);
+
+      if (targetEvaluations == null) {
+        targetEvaluations = newTargetEvaluations;
+
+        this.load(targetEvaluations);
+      }
+    }
+
+    return targetEvaluations;
+  }
+
+  /**
+   * Se inscreve no índice da coisa e carrega o histórico de avaliações. A
+   * inscrição é feita antes da leitura para que nenhuma avaliação seja perdida.
+   *
+   * @param targetEvaluations TargetEvaluations - Agregados da coisa.
+   */
+  private void load(TargetEvaluations targetEvaluations) {
+    String targetId = targetEvaluations.getTargetId();
+
+    try {
+      this.ledgerConnector.subscribe(targetId, this);
+
+      List<Transaction> evaluationTransactions =
+        this.ledgerConnector.getTransactionsByIndex(targetId, false);
+
+      targetEvaluations.load(evaluationTransactions);
+    } catch (RuntimeException re) {
+      logger.warning("Unable to load the evaluations of " + targetId);
+
+      this.targetsEvaluations.remove(targetId);
+      this.ledgerConnector.unsubscribe(targetId, this);
+      targetEvaluations.abortLoad();
+
+      throw re;
+    }
+  }
+
+  /**
+   * Responsável por lidar com as avaliações recebidas pelo ZMQ (MQTT).
+   */
+  @Override
+  public void update(Object object, Object object2) {
+    if (object instanceof Evaluation) {
+      Evaluation evaluation = (Evaluation) object;
+      TargetEvaluations targetEvaluations =
+        this.targetsEvaluations.get(evaluation.getTarget());
+
+      if (targetEvaluations != null) {
+        targetEvaluations.add(evaluation);
+      }
+    }
+  }
+
+  public LedgerConnector getLedgerConnector() {
+    return ledgerConnector;
+  }
+
+  public void setLedgerConnector(LedgerConnector ledgerConnector) {
+    this.ledgerConnector = ledgerConnector;
+  }
+}
@@ -0,0 +1,113 @@
+package reputation.node.reputation.evaluation;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import dlt.client.tangle.hornet.model.transactions.reputation.Evaluation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agregado das avaliações que um nó avaliador realizou para uma mesma coisa.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public final class SourceEvaluations {
+
+  private final String source;
+  private long amountEvaluations;
+  private long sumServiceEvaluations;
+  private double sumValues;
+
+  /**
+   * Método construtor.
+   *
+   * @param source String - ID do nó avaliador.
+   */
+  public SourceEvaluations(String source) {
+    this.source = source;
+  }
+
+  /**
+   * Método construtor de cópia.
+   *
+   * @param sourceEvaluations SourceEvaluations - Agregado a ser copiado.
+   */
+  public SourceEvaluations(SourceEvaluations sourceEvaluations) {
+    this.source = sourceEvaluations.source;
+    this.amountEvaluations = sourceEvaluations.amountEvaluations;
+    this.sumServiceEvaluations = sourceEvaluations.sumServiceEvaluations;
+    this.sumValues = sourceEvaluations.sumValues;
+  }
+
+  /**
+   * Agrupa, em uma única passagem, as transações de avaliação por nó
+   * avaliador, mantendo a ordem em que os nós aparecem na lista.
+   *
+   * @param evaluationTransactions List<Transaction> - Lista com as transações
+   * de avaliação da coisa.
+   * @return List<SourceEvaluations>
+   */
+  public static List<SourceEvaluations> aggregate(
+    List<Transaction> evaluationTransactions
+  ) {
+    Map<String, SourceEvaluations> sourcesEvaluationsIndex = new HashMap<>();
+    List<SourceEvaluations> sourcesEvaluations = new ArrayList<>();
+
+    for (Transaction transaction : evaluationTransactions) {
+      SourceEvaluations sourceEvaluations = sourcesEvaluationsIndex.get(
+        transaction.getSource()
+      );
+
+      if (sourceEvaluations == null) {
+        sourceEvaluations = new SourceEvaluations(transaction.getSource());
+
+        sourcesEvaluationsIndex.put(transaction.getSource(), sourceEvaluations);
+        sourcesEvaluations.add(sourceEvaluations);
+      }
+
+      sourceEvaluations.add((Evaluation) transaction);
+    }
+
+    return sourcesEvaluations;
+  }
+
+  /**
+   * Acumula uma nova avaliação do nó avaliador.
+   *
+   * @param evaluation Evaluation - Transação de avaliação.
+   */
+  void add(Evaluation evaluation) {
+    this.amountEvaluations++;
+    this.sumServiceEvaluations += evaluation.getServiceEvaluation();
+    this.sumValues += evaluation.getValue();
+  }
+
+  public String getSource() {
+    return source;
+  }
+
+  public long getAmountEvaluations() {
+    return amountEvaluations;
+  }
+
+  public long getSumServiceEvaluations() {
+    return sumServiceEvaluations;
+  }
+
+  public double getSumValues() {
+    return sumValues;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+      "Source: %s | Evaluations: %d | Service evaluations: %d | Values: %f",
+      this.getSource(),
+      this.getAmountEvaluations(),
+      this.getSumServiceEvaluations(),
+      this.getSumValues()
+    );
+  }
+}
@@ -0,0 +1,157 @@
+package reputation.node.reputation.evaluation;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import dlt.client.tangle.hornet.model.transactions.reputation.Evaluation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Logger;
+
+/**
+ * Mantém os agregados das avaliações recebidas por uma coisa, separados por
+ * nó avaliador.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public final class TargetEvaluations {
+
+  private final String targetId;
+  private final Map<String, SourceEvaluations> sourcesEvaluations = new HashMap<>();
+  private final CountDownLatch loaded = new CountDownLatch(1);
+  /* Avaliações recebidas pela inscrição enquanto o histórico é carregado. */
+  private List<Evaluation> pendingEvaluations = new ArrayList<>();
+  private long amountEvaluations;
+  private static final Logger logger = Logger.getLogger(
+    TargetEvaluations.class.getName()
+  );
+
+  /**
+   * Método construtor.
+   *
+   * @param targetId String - ID da coisa avaliada.
+   */
+  public TargetEvaluations(String targetId) {
+    this.targetId = targetId;
+  }
+
+  /**
+   * Carrega o histórico de avaliações obtido da Tangle, descartando as
+   * avaliações recebidas pela inscrição que já estão presentes no histórico.
+   *
+   * @param evaluationTransactions List<Transaction> - Lista com as transações
+   * de avaliação da coisa.
+   */
+  synchronized void load(List<Transaction> evaluationTransactions) {
+    Set<String> loadedKeys = new HashSet<>();
+
+    if (evaluationTransactions != null) {
+      for (Transaction transaction : evaluationTransactions) {
+        if (transaction instanceof Evaluation) {
+          this.apply((Evaluation) transaction);
+
+          if (!this.pendingEvaluations.isEmpty()) {
+            loadedKeys.add(this.keyOf(transaction));
+          }
+        }
+      }
+    }
+
+    for (Evaluation evaluation : this.pendingEvaluations) {
+      if (!loadedKeys.contains(this.keyOf(evaluation))) {
+        this.apply(evaluation);
+      }
+    }
+
+    this.pendingEvaluations = null;
+    this.loaded.countDown();
+  }
+
+  /**
+   * Libera quem aguarda o carregamento, mesmo que ele não tenha sido
+   * concluído.
+   */
+  void abortLoad() {
+    this.loaded.countDown();
+  }
+
+  /**
+   * Adiciona uma nova avaliação recebida pela inscrição.
+   *
+   * @param evaluation Evaluation - Transação de avaliação.
+   */
+  synchronized void add(Evaluation evaluation) {
+    if (this.pendingEvaluations != null) {
+      this.pendingEvaluations.add(evaluation);
+    } else {
+      this.apply(evaluation);
+    }
+  }
+
+  /**
+   * Obtém uma cópia dos agregados de cada nó avaliador.
+   *
+   * @return List<SourceEvaluations>
+   */
+  public List<SourceEvaluations> getSourcesEvaluations() {
+    this.awaitLoad();
+
+    synchronized (this) {
+      List<SourceEvaluations> snapshot = new ArrayList<>(
+        this.sourcesEvaluations.size()
+      );
+
+      for (SourceEvaluations sourceEvaluations : this.sourcesEvaluations.values()) {
+        snapshot.add(new SourceEvaluations(sourceEvaluations));
+      }
+
+      return snapshot;
+    }
+  }
+
+  /**
+   * Verifica se a coisa ainda não recebeu nenhuma avaliação.
+   *
+   * @return boolean
+   */
+  public boolean isEmpty() {
+    this.awaitLoad();
+
+    synchronized (this) {
+      return this.amountEvaluations == 0;
+    }
+  }
+
+  public String getTargetId() {
+    return targetId;
+  }
+
+  private void apply(Evaluation evaluation) {
+    this.sourcesEvaluations.computeIfAbsent(
+        evaluation.getSource(),
+        SourceEvaluations::new
+      )
+      .add(evaluation);
+
+    this.amountEvaluations++;
+  }
+
+  private String keyOf(Transaction transaction) {
+    return transaction.getSource() + "@" + transaction.getCreatedAt();
+  }
+
+  private void awaitLoad() {
+    try {
+      this.loaded.await();
+    } catch (InterruptedException ie) {
+      logger.warning(
+        "Interrupted while loading the evaluations of " + this.targetId
+      );
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package reputation.node.reputation.kmeans;
+
+/**
+ * Agrupa as credibilidades dos nós avaliadores com o algoritmo KMeans.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public interface ICredibilityClustering {
+  /**
+   * Indica, para cada credibilidade, se ela pertence ao grupo com o maior
+   * centróide. O vetor informado não é alterado.
+   *
+   * @param credibilities float[] - Credibilidades dos nós avaliadores.
+   * @return boolean[]
+   */
+  boolean[] highestCluster(float[] credibilities);
+}
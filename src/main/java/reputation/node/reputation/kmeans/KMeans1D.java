@@ -0,0 +1,127 @@
+package reputation.node.reputation.kmeans;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import python.to.java.services.IKMeans;
+
+/**
+ * Implementação nativa do algoritmo KMeans, com dois grupos, para valores
+ * unidimensionais. Como as credibilidades são escalares, a divisão ótima é
+ * obtida de forma exata ordenando os valores e avaliando cada ponto de corte,
+ * sem a necessidade de chamar o bundle em Python.
+ *
+ * @author Allan Capistrano
+ * @version 1.1.0
+ */
+public final class KMeans1D implements IKMeans, ICredibilityClustering {
+
+  /**
+   * Executa o algoritmo KMeans e retorna os valores pertencentes ao grupo com
+   * o maior centróide.
+   *
+   * @param values List<Float> - Valores que serão agrupados.
+   * @return List<Float>
+   */
+  @Override
+  public List<Float> execute(List<Float> values) {
+    float[] sortedValues = new float[values.size()];
+
+    for (int i = 0; i < sortedValues.length; i++) {
+      sortedValues[i] = values.get(i);
+    }
+
+    float lowerBound = this.highestClusterLowerBound(
+        sortedValues,
+        sortedValues.length
+      );
+
+    List<Float> highestCluster = new ArrayList<>(values.size());
+
+    for (Float value : values) {
+      if (value >= lowerBound) {
+        highestCluster.add(value);
+      }
+    }
+
+    return highestCluster;
+  }
+
+  /**
+   * Indica, para cada credibilidade, se ela pertence ao grupo com o maior
+   * centróide.
+   *
+   * @param credibilities float[] - Credibilidades dos nós avaliadores.
+   * @return boolean[]
+   */
+  @Override
+  public boolean[] highestCluster(float[] credibilities) {
+    boolean[] inHighestCluster = new boolean[credibilities.length];
+    float lowerBound = this.highestClusterLowerBound(
+        credibilities.clone(),
+        credibilities.length
+      );
+
+    for (int i = 0; i < credibilities.length; i++) {
+      inHighestCluster[i] = credibilities[i] >= lowerBound;
+    }
+
+    return inHighestCluster;
+  }
+
+  /**
+   * Obtém o menor valor do grupo com o maior centróide. Os primeiros
+   * 'length' valores do vetor são ordenados no próprio vetor, evitando
+   * alocações. Caso não existam ao menos dois valores distintos, todos os
+   * valores pertencem ao mesmo grupo.
+   *
+   * @param values float[] - Valores que serão agrupados.
+   * @param length int - Quantidade de valores do vetor que serão usados.
+   * @return float
+   */
+  public float highestClusterLowerBound(float[] values, int length) {
+    if (length < 2) {
+      return Float.NEGATIVE_INFINITY;
+    }
+
+    Arrays.sort(values, 0, length);
+
+    double totalSum = 0;
+    double totalSquaredSum = 0;
+
+    for (int i = 0; i < length; i++) {
+      totalSum += values[i];
+      totalSquaredSum += (double) values[i] * values[i];
+    }
+
+    double leftSum = 0;
+    double leftSquaredSum = 0;
+    double lowestCost = Double.POSITIVE_INFINITY;
+    float lowerBound = Float.NEGATIVE_INFINITY;
+
+    /* Avaliando cada ponto de corte entre dois valores distintos. */
+    for (int i = 1; i < length; i++) {
+      leftSum += values[i - 1];
+      leftSquaredSum += (double) values[i - 1] * values[i - 1];
+
+      if (values[i - 1] == values[i]) {
+        continue;
+      }
+
+      double rightSum = totalSum - leftSum;
+      double rightSquaredSum = totalSquaredSum - leftSquaredSum;
+
+      /* Soma dos quadrados das distâncias de cada valor ao seu centróide. */
+      double cost =
+        (leftSquaredSum - leftSum * leftSum / i) +
+        (rightSquaredSum - rightSum * rightSum / (length - i));
+
+      if (cost < lowestCost) {
+        lowestCost = cost;
+        lowerBound = values[i];
+      }
+    }
+
+    return lowerBound;
+  }
+}
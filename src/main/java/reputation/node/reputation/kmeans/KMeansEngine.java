@@ -0,0 +1,89 @@
+package reputation.node.reputation.kmeans;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import python.to.java.services.IKMeans;
+
+/**
+ * Escolhe, a cada execução, a implementação do algoritmo KMeans: a nativa,
+ * caso configurada, ou o bundle em Python. Caso o bundle em Python não esteja
+ * disponível, a implementação nativa é usada no seu lugar, evitando que o
+ * cálculo da reputação fique bloqueado aguardando o serviço.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public final class KMeansEngine implements IKMeans, ICredibilityClustering {
+
+  private final KMeans1D nativeKMeans = new KMeans1D();
+  private volatile IKMeans kMeansService;
+  private volatile boolean useNativeKMeans;
+
+  /**
+   * Executa o algoritmo KMeans e retorna os valores pertencentes ao grupo com
+   * o maior centróide.
+   *
+   * @param values List<Float> - Valores que serão agrupados.
+   * @return List<Float>
+   */
+  @Override
+  public List<Float> execute(List<Float> values) {
+    return this.current().execute(values);
+  }
+
+  /**
+   * Indica, para cada credibilidade, se ela pertence ao grupo com o maior
+   * centróide. Com o bundle em Python, são consideradas do grupo as
+   * credibilidades retornadas pelo serviço.
+   *
+   * @param credibilities float[] - Credibilidades dos nós avaliadores.
+   * @return boolean[]
+   */
+  @Override
+  public boolean[] highestCluster(float[] credibilities) {
+    IKMeans kMeans = this.current();
+
+    if (kMeans == this.nativeKMeans) {
+      return this.nativeKMeans.highestCluster(credibilities);
+    }
+
+    List<Float> values = new ArrayList<>(credibilities.length);
+
+    for (float credibility : credibilities) {
+      values.add(credibility);
+    }
+
+    Set<Float> kMeansResult = new HashSet<>(kMeans.execute(values));
+    boolean[] inHighestCluster = new boolean[credibilities.length];
+
+    for (int i = 0; i < credibilities.length; i++) {
+      inHighestCluster[i] = kMeansResult.contains(credibilities[i]);
+    }
+
+    return inHighestCluster;
+  }
+
+  private IKMeans current() {
+    IKMeans service = this.kMeansService;
+
+    return this.useNativeKMeans || service == null ? this.nativeKMeans : service;
+  }
+
+  public IKMeans getKMeansService() {
+    return kMeansService;
+  }
+
+  public void setKMeansService(IKMeans kMeansService) {
+    this.kMeansService = kMeansService;
+  }
+
+  public boolean isUseNativeKMeans() {
+    return useNativeKMeans;
+  }
+
+  public void setUseNativeKMeans(boolean useNativeKMeans) {
+    this.useNativeKMeans = useNativeKMeans;
+  }
+}
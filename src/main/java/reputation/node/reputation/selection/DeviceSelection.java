@@ -0,0 +1,150 @@
+package reputation.node.reputation.selection;
+
+import dlt.client.tangle.hornet.model.DeviceSensorId;
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import reputation.node.models.ThingReputation;
+import reputation.node.reputation.IReputation;
+import reputation.node.reputation.Reputation;
+import reputation.node.tangle.LedgerConnector;
+
+/**
+ * Escolhe, dentre os dispositivos oferecidos por um nó provedor, aquele com a
+ * maior reputação. Caso mais de um dispositivo possua a maior reputação, ou
+ * caso o sistema não esteja utilizando reputação, um deles é escolhido de
+ * maneira aleatória.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class DeviceSelection {
+
+  private final LedgerConnector ledgerConnector;
+  private final boolean useReputation;
+  private final boolean useLatestCredibility;
+  private final boolean useCredibility;
+  private static final Logger logger = Logger.getLogger(
+    DeviceSelection.class.getName()
+  );
+
+  /**
+   * Método construtor.
+   *
+   * @param ledgerConnector LedgerConnector - Conector para a leitura das
+   * avaliações dos dispositivos.
+   * @param useReputation boolean - Se a reputação deve ser considerada.
+   * @param useLatestCredibility boolean - Indica se é para usar ou não a
+   * credibilidade mais recente para o cálculo da reputação.
+   * @param useCredibility boolean - Indica se é para usar ou não a
+   * credibilidade no cálculo da reputação.
+   */
+  public DeviceSelection(
+    LedgerConnector ledgerConnector,
+    boolean useReputation,
+    boolean useLatestCredibility,
+    boolean useCredibility
+  ) {
+    this.ledgerConnector = ledgerConnector;
+    this.useReputation = useReputation;
+    this.useLatestCredibility = useLatestCredibility;
+    this.useCredibility = useCredibility;
+  }
+
+  /**
+   * Obtém os IDs do dispositivo e do sensor, com a maior reputação.
+   *
+   * @param deviceSensorIdList List<DeviceSensorId> - Lista com os IDs do
+   * dispositivo e sensor que se deseja obter o maior.
+   * @return DeviceSensorId - Ou null, caso a lista esteja vazia.
+   */
+  public DeviceSensorId select(List<DeviceSensorId> deviceSensorIdList) {
+    List<ThingReputation> devicesReputations = new ArrayList<>();
+    Double reputation;
+    Double highestReputation = 0.0;
+    DeviceSensorId highestReputationDeviceSensorId = null;
+
+    if (deviceSensorIdList.size() > 1) {
+      /**
+       * Salvando a reputação de cada dispositivo em uma lista.
+       */
+      for (DeviceSensorId deviceSensorId : deviceSensorIdList) {
+        List<Transaction> evaluationTransactions =
+          this.ledgerConnector.getTransactionsByIndex(deviceSensorId.getDeviceId(), false);
+
+        if (evaluationTransactions.isEmpty()) {
+          reputation = 0.5;
+        } else {
+          IReputation reputationCalc = new Reputation();
+          reputation =
+            reputationCalc.calculate(
+              evaluationTransactions,
+              this.useLatestCredibility,
+              this.useCredibility
+            );
+        }
+
+        devicesReputations.add(
+          new ThingReputation(
+            String.format(
+              "%s@%s", // Formato: deviceId@sensorId
+              deviceSensorId.getDeviceId(),
+              deviceSensorId.getSensorId()
+            ),
+            reputation
+          )
+        );
+
+        if (reputation > highestReputation) {
+          highestReputation = reputation;
+        }
+      }
+
+      final Double innerHighestReputation = Double.valueOf(highestReputation);
+
+      List<ThingReputation> temp;
+
+      if (this.useReputation) {
+        /**
+         * Verificando quais dispositivos possuem a maior reputação.
+         */
+        temp =
+          devicesReputations
+            .stream()
+            .filter(nr -> nr.getReputation().equals(innerHighestReputation))
+            .collect(Collectors.toList());
+      } else {
+        temp = devicesReputations;
+      }
+
+      int index = -1;
+
+      /**
+       * Obtendo o ID de um dos dispositivos com a maior reputação.
+       */
+      if (temp.size() == 1) {
+        index = 0;
+      } else if (temp.size() > 1) {
+        index = new Random().nextInt(temp.size());
+      } else {
+        logger.severe("Invalid amount of devices with the highest reputation.");
+      }
+
+      if (index != -1) {
+        String[] tempIds = temp.get(index).getThingId().split("@");
+
+        highestReputationDeviceSensorId =
+          new DeviceSensorId(tempIds[0], tempIds[1]);
+      }
+    } else if (deviceSensorIdList.size() == 1) {
+      highestReputationDeviceSensorId = deviceSensorIdList.get(0);
+    } else {
+      logger.severe("Invalid amount of devices.");
+    }
+
+    return highestReputationDeviceSensorId;
+  }
+}
@@ -0,0 +1,22 @@
+package reputation.node.reputation.selection;
+
+import java.util.List;
+import reputation.node.models.ThingReputation;
+
+/**
+ * Estratégia de escolha dos nós provedores de serviço.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public interface IProviderSelection {
+  /**
+   * Ordena os nós provedores de serviço, do mais indicado para o menos
+   * indicado.
+   *
+   * @param nodesReputations List<ThingReputation> - Reputação de cada nó
+   * que respondeu a requisição.
+   * @return List<String> - IDs dos nós, ordenados.
+   */
+  List<String> rank(List<ThingReputation> nodesReputations);
+}
@@ -0,0 +1,82 @@
+package reputation.node.reputation.selection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import reputation.node.models.ThingReputation;
+
+/**
+ * Ordena os nós por uma pontuação que combina a reputação com o tempo de
+ * resposta observado: reputação - 'latencyWeight' * tempo (segundos). Nós
+ * ainda sem tempo de resposta registrado não são penalizados, para que também
+ * sejam escolhidos. Nós com a mesma pontuação ficam em ordem aleatória.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class LatencyAwareSelection implements IProviderSelection {
+
+  private final ProviderLatencyTracker latencyTracker;
+  private final boolean useReputation;
+  private final double latencyWeight;
+  private final double latencyPercentile;
+
+  /**
+   * Método construtor.
+   *
+   * @param latencyTracker ProviderLatencyTracker - Tempos de resposta dos nós.
+   * @param useReputation boolean - Se a reputação deve ser considerada.
+   * @param latencyWeight double - Penalidade por segundo de tempo de resposta.
+   * @param latencyPercentile double - Percentil do tempo de resposta usado,
+   * entre 0 e 1.
+   */
+  public LatencyAwareSelection(
+    ProviderLatencyTracker latencyTracker,
+    boolean useReputation,
+    double latencyWeight,
+    double latencyPercentile
+  ) {
+    this.latencyTracker = latencyTracker;
+    this.useReputation = useReputation;
+    this.latencyWeight = latencyWeight;
+    this.latencyPercentile = latencyPercentile;
+  }
+
+  @Override
+  public List<String> rank(List<ThingReputation> nodesReputations) {
+    List<ThingReputation> ranked = new ArrayList<>(nodesReputations);
+    Map<String, Double> scores = new HashMap<>();
+
+    for (ThingReputation nodeReputation : ranked) {
+      double reputation = this.useReputation
+        ? nodeReputation.getReputation()
+        : 0;
+      double latency =
+        this.latencyTracker.getLatency(
+            nodeReputation.getThingId(),
+            this.latencyPercentile
+          );
+
+      scores.put(
+        nodeReputation.getThingId(),
+        reputation - this.latencyWeight * latency / 1000
+      );
+    }
+
+    Collections.shuffle(ranked);
+    ranked.sort(
+      Comparator
+        .comparing((ThingReputation nr) -> scores.get(nr.getThingId()))
+        .reversed()
+    );
+
+    return ranked
+      .stream()
+      .map(ThingReputation::getThingId)
+      .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,131 @@
+package reputation.node.reputation.selection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra os tempos de resposta dos nós provedores de serviço. Para cada nó
+ * são mantidos uma média móvel exponencial (EWMA) e um histograma com faixas
+ * de tamanho exponencial, usado para estimar os percentis com erro relativo
+ * de no máximo 25%. O histograma é reduzido pela metade periodicamente, para
+ * que os tempos mais antigos percam importância.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class ProviderLatencyTracker {
+
+  /* Peso do tempo mais recente na média móvel exponencial. */
+  private static final double EWMA_ALPHA = 0.2;
+  /* Quantidade mínima de tempos para usar o percentil no lugar da média. */
+  private static final int MIN_PERCENTILE_SAMPLES = 5;
+  private static final int BUCKETS = 64;
+  private static final double BUCKET_RATIO = 1.25;
+  private static final int DECAY_THRESHOLD = 1024;
+
+  private final Map<String, ProviderLatency> latencies = new ConcurrentHashMap<>();
+
+  /**
+   * Registra o tempo de uma requisição a um nó.
+   *
+   * @param nodeId String - ID do nó.
+   * @param latency long - Tempo (milissegundos) da requisição.
+   */
+  public void record(String nodeId, long latency) {
+    this.latencies.computeIfAbsent(nodeId, id -> new ProviderLatency())
+      .record(Math.max(0, latency));
+  }
+
+  /**
+   * Estimativa do tempo de resposta de um nó: o percentil informado, ou a
+   * média móvel exponencial caso ainda existam poucos tempos registrados.
+   *
+   * @param nodeId String - ID do nó.
+   * @param percentile double - Percentil, entre 0 e 1.
+   * @return double - Tempo (milissegundos), ou 0 caso o nó nunca tenha sido
+   * requisitado.
+   */
+  public double getLatency(String nodeId, double percentile) {
+    ProviderLatency providerLatency = this.latencies.get(nodeId);
+
+    return providerLatency == null ? 0 : providerLatency.estimate(percentile);
+  }
+
+  /**
+   * Média móvel exponencial do tempo de resposta de um nó.
+   *
+   * @param nodeId String - ID do nó.
+   * @return double - Tempo (milissegundos), ou 0 caso o nó nunca tenha sido
+   * requisitado.
+   */
+  public double getEwma(String nodeId) {
+    ProviderLatency providerLatency = this.latencies.get(nodeId);
+
+    return providerLatency == null ? 0 : providerLatency.getEwma();
+  }
+
+  private static int bucketOf(long latency) {
+    int bucket = (int) (Math.log1p(latency) / Math.log(BUCKET_RATIO));
+
+    return Math.min(bucket, BUCKETS - 1);
+  }
+
+  /**
+   * Maior tempo (milissegundos) de uma faixa do histograma.
+   */
+  private static double upperBoundOf(int bucket) {
+    return Math.pow(BUCKET_RATIO, bucket + 1) - 1;
+  }
+
+  /**
+   * Tempos de resposta de um nó.
+   */
+  private static final class ProviderLatency {
+
+    private final int[] counts = new int[BUCKETS];
+    private int total = 0;
+    private double ewma = -1;
+
+    private synchronized void record(long latency) {
+      this.ewma =
+        this.ewma < 0
+          ? latency
+          : EWMA_ALPHA * latency + (1 - EWMA_ALPHA) * this.ewma;
+
+      this.counts[bucketOf(latency)]++;
+      this.total++;
+
+      if (this.total >= DECAY_THRESHOLD) {
+        this.total = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+          this.counts[i] /= 2;
+          this.total += this.counts[i];
+        }
+      }
+    }
+
+    private synchronized double getEwma() {
+      return Math.max(0, this.ewma);
+    }
+
+    private synchronized double estimate(double percentile) {
+      if (this.total < MIN_PERCENTILE_SAMPLES) {
+        return Math.max(0, this.ewma);
+      }
+
+      long rank = Math.max(1, (long) Math.ceil(percentile * this.total));
+      long accumulated = 0;
+
+      for (int i = 0; i < BUCKETS; i++) {
+        accumulated += this.counts[i];
+
+        if (accumulated >= rank) {
+          return upperBoundOf(i);
+        }
+      }
+
+      return upperBoundOf(BUCKETS - 1);
+    }
+  }
+}
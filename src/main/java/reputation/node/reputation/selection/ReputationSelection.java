@@ -0,0 +1,48 @@
+package reputation.node.reputation.selection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import reputation.node.models.ThingReputation;
+
+/**
+ * Ordena os nós pela reputação, da maior para a menor. Nós com a mesma
+ * reputação, ou todos caso o sistema não esteja utilizando reputação, ficam em
+ * ordem aleatória.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class ReputationSelection implements IProviderSelection {
+
+  private final boolean useReputation;
+
+  /**
+   * Método construtor.
+   *
+   * @param useReputation boolean - Se a reputação deve ser considerada.
+   */
+  public ReputationSelection(boolean useReputation) {
+    this.useReputation = useReputation;
+  }
+
+  @Override
+  public List<String> rank(List<ThingReputation> nodesReputations) {
+    List<ThingReputation> ranked = new ArrayList<>(nodesReputations);
+
+    Collections.shuffle(ranked);
+
+    if (this.useReputation) {
+      ranked.sort(
+        Comparator.comparing(ThingReputation::getReputation).reversed()
+      );
+    }
+
+    return ranked
+      .stream()
+      .map(ThingReputation::getThingId)
+      .collect(Collectors.toList());
+  }
+}
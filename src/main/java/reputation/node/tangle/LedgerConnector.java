@@ -5,16 +5,123 @@ import dlt.client.tangle.hornet.model.transactions.Transaction;
 import dlt.client.tangle.hornet.services.ILedgerReader;
 import dlt.client.tangle.hornet.services.ILedgerSubscriber;
 import dlt.client.tangle.hornet.services.ILedgerWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import reputation.node.enums.BackpressurePolicy;
 
 /**
  *
  * @author Allan Capistrano
- * @version 1.0.0
+ * @version 1.2.1
  */
 public class LedgerConnector {
 
   private ILedgerReader ledgerReader;
   private ILedgerWriter ledgerWriter;
+  private int writeQueueSize = 1000;
+  private int writeBatchSize = 50;
+  private long writeLingerTime = 10;
+  private BackpressurePolicy writeBackpressurePolicy = BackpressurePolicy.BLOCK;
+  private BlockingQueue<PendingWrite> writeQueue;
+  private Thread writerThread;
+  private volatile boolean writing = false;
+  private int readCacheSize = 100;
+  private long readCacheTtl = 5;
+  private Map<String, CachedRead> readCache;
+  private final Set<String> evictedIndexes = new HashSet<>();
+  private final Map<String, IndexInvalidator> invalidators = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<List<Transaction>>> inFlightReads = new ConcurrentHashMap<>();
+  private final AtomicLong readCacheHits = new AtomicLong();
+  private final AtomicLong readCacheMisses = new AtomicLong();
+  private final AtomicLong coalescedReads = new AtomicLong();
+  private static final Logger logger = Logger.getLogger(
+    LedgerConnector.class.getName()
+  );
+
+  /**
+   * Executa o que foi definido na função quando o bundle for inicializado.
+   */
+  public void start() {
+    /* Cache ordenada por acesso, descartando a leitura menos usada. */
+    this.readCache =
+      new LinkedHashMap<String, CachedRead>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(
+          Map.Entry<String, CachedRead> eldest
+        ) {
+          if (this.size() > readCacheSize) {
+            evictedIndexes.add(eldest.getValue().index);
+
+            return true;
+          }
+
+          return false;
+        }
+      };
+
+    this.writeQueue = new ArrayBlockingQueue<>(this.writeQueueSize);
+    this.writing = true;
+
+    this.writerThread = new Thread(this::writeLoop, "reputation-node-writer");
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  /**
+   * Executa o que foi definido na função quando o bundle for finalizado.
+   */
+  public void stop() {
+    this.writing = false;
+
+    if (this.writerThread != null) {
+      this.writerThread.interrupt();
+
+      try {
+        this.writerThread.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    this.invalidators.forEach((index, invalidator) ->
+        this.ledgerReader.unsubscribe(index, invalidator)
+      );
+    this.invalidators.clear();
+
+    logger.info(
+      String.format(
+        "Ledger read cache: %d hits, %d misses, %d coalesced reads.",
+        this.getReadCacheHits(),
+        this.getReadCacheMisses(),
+        this.getCoalescedReads()
+      )
+    );
+
+    /* Escritas que não chegaram a ser enviadas para a Tangle. */
+    List<PendingWrite> pendingWrites = new ArrayList<>();
+
+    this.writeQueue.drainTo(pendingWrites);
+    pendingWrites.forEach(pendingWrite ->
+      pendingWrite.future.completeExceptionally(
+        new CancellationException("Ledger connector stopped.")
+      )
+    );
+  }
 
   /**
    * Se inscreve em um tópico para escutar as transações que são realizadas.
@@ -48,6 +155,233 @@ public class LedgerConnector {
     this.ledgerWriter.put(indexTransaction);
   }
 
+  /**
+   * Põe uma transação na fila de escrita para ser publicada na Tangle de
+   * forma assíncrona. Caso a fila esteja cheia, é aplicada a política de
+   * contrapressão configurada.
+   *
+   * @param indexTransaction IndexTransaction - Transação que será publicada,
+   * juntamente com seu índice.
+   * @return CompletableFuture<IndexTransaction> - Concluído quando a
+   * transação for entregue ao escritor da Tangle.
+   */
+  public CompletableFuture<IndexTransaction> putAsync(
+    IndexTransaction indexTransaction
+  ) {
+    PendingWrite pendingWrite = new PendingWrite(indexTransaction);
+
+    if (!this.writing) {
+      pendingWrite.future.completeExceptionally(
+        new RejectedExecutionException("Ledger connector is not running.")
+      );
+
+      return pendingWrite.future;
+    }
+
+    switch (this.writeBackpressurePolicy) {
+      case DROP_NEWEST:
+        if (!this.writeQueue.offer(pendingWrite)) {
+          pendingWrite.future.completeExceptionally(
+            new RejectedExecutionException("Ledger write queue is full.")
+          );
+        }
+        break;
+      case DROP_OLDEST:
+        while (!this.writeQueue.offer(pendingWrite)) {
+          PendingWrite oldestWrite = this.writeQueue.poll();
+
+          if (oldestWrite != null) {
+            oldestWrite.future.completeExceptionally(
+              new RejectedExecutionException("Ledger write queue is full.")
+            );
+          }
+        }
+        break;
+      default:
+        try {
+          this.writeQueue.put(pendingWrite);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          pendingWrite.future.completeExceptionally(ie);
+        }
+        break;
+    }
+
+    return pendingWrite.future;
+  }
+
+  /**
+   * Obtém as transações de um índice. As leituras são mantidas em cache por
+   * 'readCacheTtl' segundos, ou até que uma nova transação seja publicada no
+   * índice, e leituras simultâneas de um mesmo índice compartilham uma única
+   * requisição à Tangle.
+   *
+   * @param index String - Índice das transações.
+   * @param flag boolean - Repassado para o leitor da Tangle.
+   * @return List<Transaction>
+   */
+  public List<Transaction> getTransactionsByIndex(String index, boolean flag) {
+    if (this.readCache == null || this.readCacheSize <= 0 || this.readCacheTtl <= 0) {
+      return this.ledgerReader.getTransactionsByIndex(index, flag);
+    }
+
+    String key = index + "#" + flag;
+    CachedRead cachedRead;
+
+    synchronized (this.readCache) {
+      cachedRead = this.readCache.get(key);
+    }
+
+    if (cachedRead != null && cachedRead.expiresAt - System.nanoTime() > 0) {
+      this.readCacheHits.incrementAndGet();
+
+      return cachedRead.transactions;
+    }
+
+    this.readCacheMisses.incrementAndGet();
+
+    CompletableFuture<List<Transaction>> newRead = new CompletableFuture<>();
+    CompletableFuture<List<Transaction>> inFlightRead =
+      this.inFlightReads.putIfAbsent(key, newRead);
+
+    /* Já existe uma leitura do mesmo índice em andamento. */
+    if (inFlightRead != null) {
+      this.coalescedReads.incrementAndGet();
+
+      try {
+        return inFlightRead.join();
+      } catch (CompletionException ce) {
+        if (ce.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) ce.getCause();
+        }
+
+        throw ce;
+      }
+    }
+
+    try {
+      List<Transaction> transactions = this.read(key, index, flag);
+
+      newRead.complete(transactions);
+
+      return transactions;
+    } catch (RuntimeException re) {
+      newRead.completeExceptionally(re);
+
+      throw re;
+    } finally {
+      this.inFlightReads.remove(key);
+    }
+  }
+
+  /**
+   * Lê as transações de um índice da Tangle e as põe na cache. A inscrição no
+   * índice é feita antes da leitura, e a leitura só é posta na cache caso
+   * nenhuma transação tenha sido publicada no índice enquanto ela acontecia.
+   * Ao final, a inscrição é removida caso o índice não possua leituras na
+   * cache nem leituras em andamento.
+   *
+   * @param key String - Chave da leitura na cache.
+   * @param index String - Índice das transações.
+   * @param flag boolean - Repassado para o leitor da Tangle.
+   * @return List<Transaction>
+   */
+  private List<Transaction> read(String key, String index, boolean flag) {
+    IndexInvalidator invalidator;
+    boolean subscribe = false;
+
+    synchronized (this.readCache) {
+      invalidator = this.invalidators.get(index);
+
+      if (invalidator == null) {
+        invalidator = new IndexInvalidator(index);
+        this.invalidators.put(index, invalidator);
+        subscribe = true;
+      }
+
+      invalidator.readers++;
+    }
+
+    try {
+      if (subscribe) {
+        this.ledgerReader.subscribe(index, invalidator);
+      }
+
+      long version = invalidator.version.get();
+      List<Transaction> transactions =
+        this.ledgerReader.getTransactionsByIndex(index, flag);
+
+      if (transactions == null) {
+        return null;
+      }
+
+      transactions = Collections.unmodifiableList(transactions);
+
+      synchronized (this.readCache) {
+        if (invalidator.version.get() == version) {
+          this.readCache.put(
+              key,
+              new CachedRead(
+                index,
+                transactions,
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(this.readCacheTtl)
+              )
+            );
+        }
+      }
+
+      return transactions;
+    } finally {
+      List<IndexInvalidator> released = new ArrayList<>();
+
+      synchronized (this.readCache) {
+        invalidator.readers--;
+
+        /* O próprio índice pode não ter sido posto na cache. */
+        this.evictedIndexes.add(index);
+
+        for (String evictedIndex : this.evictedIndexes) {
+          IndexInvalidator evictedInvalidator = this.invalidators.get(
+            evictedIndex
+          );
+
+          if (
+            evictedInvalidator != null &&
+            evictedInvalidator.readers == 0 &&
+            !this.readCache.containsKey(evictedIndex + "#" + true) &&
+            !this.readCache.containsKey(evictedIndex + "#" + false)
+          ) {
+            this.invalidators.remove(evictedIndex);
+            released.add(evictedInvalidator);
+          }
+        }
+
+        this.evictedIndexes.clear();
+      }
+
+      for (IndexInvalidator releasedInvalidator : released) {
+        this.ledgerReader.unsubscribe(
+            releasedInvalidator.index,
+            releasedInvalidator
+          );
+      }
+    }
+  }
+
+  /**
+   * Remove da cache as leituras de um índice. A inscrição no índice é
+   * removida na próxima leitura da Tangle.
+   *
+   * @param index String - Índice das transações.
+   */
+  private void invalidate(String index) {
+    synchronized (this.readCache) {
+      this.readCache.remove(index + "#" + true);
+      this.readCache.remove(index + "#" + false);
+      this.evictedIndexes.add(index);
+    }
+  }
+
   /**
    * Obtém uma transação a partir do ID da mesma.
    *
@@ -58,6 +392,78 @@ public class LedgerConnector {
     return this.ledgerReader.getTransactionById(id);
   }
 
+  /**
+   * Retira as escritas da fila em lotes e as entrega ao escritor da Tangle.
+   * Após a primeira escrita de um lote, aguarda no máximo 'writeLingerTime'
+   * milissegundos por outras escritas, para que rajadas sejam enviadas
+   * juntas.
+   */
+  private void writeLoop() {
+    List<PendingWrite> batch = new ArrayList<>(this.writeBatchSize);
+
+    while (this.writing) {
+      try {
+        batch.add(this.writeQueue.take());
+
+        long deadline =
+          System.nanoTime() +
+          TimeUnit.MILLISECONDS.toNanos(this.writeLingerTime);
+
+        while (batch.size() < this.writeBatchSize) {
+          this.writeQueue.drainTo(batch, this.writeBatchSize - batch.size());
+
+          long remaining = deadline - System.nanoTime();
+
+          if (batch.size() >= this.writeBatchSize || remaining <= 0) {
+            break;
+          }
+
+          PendingWrite pendingWrite =
+            this.writeQueue.poll(remaining, TimeUnit.NANOSECONDS);
+
+          if (pendingWrite == null) {
+            break;
+          }
+
+          batch.add(pendingWrite);
+        }
+
+        this.write(batch);
+      } catch (InterruptedException ie) {
+        batch.forEach(pendingWrite ->
+          pendingWrite.future.completeExceptionally(ie)
+        );
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Entrega um lote de escritas ao escritor da Tangle.
+   *
+   * @param batch List<PendingWrite> - Lote de escritas.
+   * @throws InterruptedException
+   */
+  private void write(List<PendingWrite> batch) throws InterruptedException {
+    for (int i = 0; i < batch.size(); i++) {
+      PendingWrite pendingWrite = batch.get(i);
+
+      try {
+        this.ledgerWriter.put(pendingWrite.indexTransaction);
+        pendingWrite.future.complete(pendingWrite.indexTransaction);
+      } catch (InterruptedException ie) {
+        /* As escritas restantes do lote são concluídas por quem chamou. */
+        batch.subList(0, i).clear();
+
+        throw ie;
+      } catch (RuntimeException re) {
+        logger.warning("Unable to write transaction on ledger: " + re);
+        pendingWrite.future.completeExceptionally(re);
+      }
+    }
+  }
+
   public ILedgerWriter getLedgerWriter() {
     return ledgerWriter;
   }
@@ -73,4 +479,121 @@ public class LedgerConnector {
   public void setLedgerReader(ILedgerReader ledgerReader) {
     this.ledgerReader = ledgerReader;
   }
+
+  public long getReadCacheHits() {
+    return readCacheHits.get();
+  }
+
+  public long getReadCacheMisses() {
+    return readCacheMisses.get();
+  }
+
+  public long getCoalescedReads() {
+    return coalescedReads.get();
+  }
+
+  public int getReadCacheSize() {
+    return readCacheSize;
+  }
+
+  public void setReadCacheSize(int readCacheSize) {
+    this.readCacheSize = readCacheSize;
+  }
+
+  public long getReadCacheTtl() {
+    return readCacheTtl;
+  }
+
+  public void setReadCacheTtl(long readCacheTtl) {
+    this.readCacheTtl = readCacheTtl;
+  }
+
+  public int getWriteQueueSize() {
+    return writeQueueSize;
+  }
+
+  public void setWriteQueueSize(int writeQueueSize) {
+    this.writeQueueSize = writeQueueSize;
+  }
+
+  public int getWriteBatchSize() {
+    return writeBatchSize;
+  }
+
+  public void setWriteBatchSize(int writeBatchSize) {
+    this.writeBatchSize = writeBatchSize;
+  }
+
+  public long getWriteLingerTime() {
+    return writeLingerTime;
+  }
+
+  public void setWriteLingerTime(long writeLingerTime) {
+    this.writeLingerTime = writeLingerTime;
+  }
+
+  public BackpressurePolicy getWriteBackpressurePolicy() {
+    return writeBackpressurePolicy;
+  }
+
+  public void setWriteBackpressurePolicy(
+    BackpressurePolicy writeBackpressurePolicy
+  ) {
+    this.writeBackpressurePolicy = writeBackpressurePolicy;
+  }
+
+  /**
+   * Escrita que aguarda na fila, juntamente com o seu resultado.
+   */
+  private static final class PendingWrite {
+
+    private final IndexTransaction indexTransaction;
+    private final CompletableFuture<IndexTransaction> future = new CompletableFuture<>();
+
+    private PendingWrite(IndexTransaction indexTransaction) {
+      this.indexTransaction = indexTransaction;
+    }
+  }
+
+  /**
+   * Leitura de um índice mantida em cache.
+   */
+  private static final class CachedRead {
+
+    private final String index;
+    private final List<Transaction> transactions;
+    private final long expiresAt;
+
+    private CachedRead(
+      String index,
+      List<Transaction> transactions,
+      long expiresAt
+    ) {
+      this.index = index;
+      this.transactions = transactions;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /**
+   * Invalida as leituras de um índice quando uma nova transação é publicada
+   * nele.
+   */
+  private final class IndexInvalidator implements ILedgerSubscriber {
+
+    private final String index;
+    private final AtomicLong version = new AtomicLong();
+    /* Leituras em andamento do índice, protegidas pelo lock da cache. */
+    private int readers = 0;
+
+    private IndexInvalidator(String index) {
+      this.index = index;
+    }
+
+    @Override
+    public void update(Object object, Object object2) {
+      this.version.incrementAndGet();
+      invalidate(this.index);
+    }
+  }
 }
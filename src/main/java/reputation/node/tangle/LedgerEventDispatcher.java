@@ -0,0 +1,200 @@
+package reputation.node.tangle;
+
+import dlt.client.tangle.hornet.enums.TransactionType;
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Repassa as transações recebidas pelas inscrições da Tangle para uma fila
+ * limitada, que é consumida por um conjunto de threads. Desta forma, a thread
+ * do ZMQ (MQTT) nunca aguarda pelo processamento das transações.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.1
+ */
+public class LedgerEventDispatcher {
+
+  private static final long STOP_TIMEOUT = 5;
+
+  private final int queueSize;
+  private final int workersAmount;
+  private final Map<TransactionType, Consumer<Transaction>> handlers = new EnumMap<>(
+    TransactionType.class
+  );
+  private final Queue<Transaction> events = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingEvents = new AtomicInteger();
+  private final Semaphore availableEvents = new Semaphore(0);
+  private final AtomicLong droppedEvents = new AtomicLong();
+  private final List<Thread> workers = new ArrayList<>();
+  private volatile boolean running = false;
+  private static final Logger logger = Logger.getLogger(
+    LedgerEventDispatcher.class.getName()
+  );
+
+  /**
+   * Método construtor.
+   *
+   * @param queueSize int - Quantidade máxima de transações aguardando na fila.
+   * Deve ser no mínimo 1.
+   * @param workersAmount int - Quantidade de threads que processam a fila.
+   * Deve ser no mínimo 1.
+   * @throws IllegalArgumentException - Caso algum dos valores seja menor que 1.
+   */
+  public LedgerEventDispatcher(int queueSize, int workersAmount) {
+    if (queueSize < 1) {
+      throw new IllegalArgumentException(
+        "Ledger event queue size must be at least 1: " + queueSize
+      );
+    }
+
+    if (workersAmount < 1) {
+      throw new IllegalArgumentException(
+        "Ledger event workers must be at least 1: " + workersAmount
+      );
+    }
+
+    this.queueSize = queueSize;
+    this.workersAmount = workersAmount;
+  }
+
+  /**
+   * Define a função responsável por um tipo de transação. Deve ser chamado
+   * antes de 'start'.
+   *
+   * @param transactionType TransactionType - Tipo da transação.
+   * @param handler Consumer<Transaction> - Função que processa a transação.
+   */
+  public void register(
+    TransactionType transactionType,
+    Consumer<Transaction> handler
+  ) {
+    this.handlers.put(transactionType, handler);
+  }
+
+  /**
+   * Inicia as threads que processam a fila.
+   */
+  public void start() {
+    this.running = true;
+
+    for (int i = 1; i <= this.workersAmount; i++) {
+      Thread worker = new Thread(
+        this::dispatchLoop,
+        "reputation-node-dispatcher-" + i
+      );
+
+      worker.setDaemon(true);
+      worker.start();
+
+      this.workers.add(worker);
+    }
+  }
+
+  /**
+   * Finaliza as threads e descarta as transações que não foram processadas.
+   */
+  public void stop() {
+    this.running = false;
+
+    this.workers.forEach(Thread::interrupt);
+
+    try {
+      for (Thread worker : this.workers) {
+        worker.join(TimeUnit.SECONDS.toMillis(STOP_TIMEOUT));
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    }
+
+    this.workers.clear();
+    this.events.clear();
+    this.pendingEvents.set(0);
+
+    logger.info(
+      String.format(
+        "Ledger event dispatcher: %d dropped events.",
+        this.getDroppedEvents()
+      )
+    );
+  }
+
+  /**
+   * Adiciona uma transação na fila, sem bloquear. Transações sem uma função
+   * definida são ignoradas, e caso a fila esteja cheia, a transação é
+   * descartada.
+   *
+   * @param transaction Transaction - Transação recebida.
+   * @return boolean - Se a transação foi adicionada na fila.
+   */
+  public boolean dispatch(Transaction transaction) {
+    if (!this.running || !this.handlers.containsKey(transaction.getType())) {
+      return false;
+    }
+
+    if (this.pendingEvents.incrementAndGet() > this.queueSize) {
+      this.pendingEvents.decrementAndGet();
+
+      if (this.droppedEvents.getAndIncrement() % this.queueSize == 0) {
+        logger.warning("Ledger event queue is full, dropping transactions.");
+      }
+
+      return false;
+    }
+
+    this.events.offer(transaction);
+    this.availableEvents.release();
+
+    return true;
+  }
+
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  public int getPendingEvents() {
+    return pendingEvents.get();
+  }
+
+  private void dispatchLoop() {
+    while (this.running) {
+      Transaction transaction;
+
+      try {
+        this.availableEvents.acquire();
+      } catch (InterruptedException ie) {
+        break;
+      }
+
+      transaction = this.events.poll();
+
+      if (transaction == null) {
+        continue;
+      }
+
+      this.pendingEvents.decrementAndGet();
+
+      try {
+        this.handlers.get(transaction.getType()).accept(transaction);
+      } catch (RuntimeException re) {
+        logger.severe(
+          String.format(
+            "Error handling a %s transaction: %s",
+            transaction.getType(),
+            re
+          )
+        );
+      }
+    }
+  }
+}
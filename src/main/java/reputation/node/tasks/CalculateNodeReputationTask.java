@@ -1,18 +1,16 @@
 package reputation.node.tasks;
 
-import dlt.client.tangle.hornet.model.transactions.Transaction;
-import java.util.List;
-import java.util.TimerTask;
 import reputation.node.models.Node;
 import reputation.node.reputation.IReputation;
+import reputation.node.reputation.evaluation.TargetEvaluations;
 
 /**
  * Task para calcular a reputação atual do nó.
  *
  * @author Allan Capistrano
- * @version 1.0.0
+ * @version 1.1.0
  */
-public class CalculateNodeReputationTask extends TimerTask {
+public class CalculateNodeReputationTask extends NodeTask {
 
   private final Node node;
   private final IReputation reputation;
@@ -29,14 +27,13 @@ public class CalculateNodeReputationTask extends TimerTask {
 
   @Override
   public void run() {
-    List<Transaction> evaluationTransactions =
-      this.node.getLedgerConnector()
-        .getLedgerReader()
-        .getTransactionsByIndex(this.node.getNodeType().getNodeId(), false);
+    TargetEvaluations evaluations =
+      this.node.getEvaluationAggregator()
+        .get(this.node.getNodeType().getNodeId());
 
     double reputationValue =
       this.reputation.calculate(
-          evaluationTransactions,
+          evaluations,
           this.node.isUseLatestCredibility(),
           this.node.isUseCredibility()
         );
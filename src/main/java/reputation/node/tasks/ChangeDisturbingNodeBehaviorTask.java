@@ -1,19 +1,17 @@
 package reputation.node.tasks;
 
-import dlt.client.tangle.hornet.model.transactions.Transaction;
-import java.util.List;
-import java.util.TimerTask;
 import java.util.logging.Logger;
 import reputation.node.models.Node;
 import reputation.node.reputation.IReputation;
+import reputation.node.reputation.evaluation.TargetEvaluations;
 
 /**
  * Task para alterar o comportamento de um nó do tipo Perturbador.
  *
  * @author Allan Capistrano
- * @version 1.0.0
+ * @version 1.1.0
  */
-public class ChangeDisturbingNodeBehaviorTask extends TimerTask {
+public class ChangeDisturbingNodeBehaviorTask extends NodeTask {
 
   private static final double REPUTATION_THRESHOLD = 0.9;
 
@@ -37,14 +35,13 @@ public class ChangeDisturbingNodeBehaviorTask extends TimerTask {
 
   @Override
   public void run() {
-    List<Transaction> evaluationTransactions =
-      this.node.getLedgerConnector()
-        .getLedgerReader()
-        .getTransactionsByIndex(this.node.getNodeType().getNodeId(), false);
+    TargetEvaluations evaluations =
+      this.node.getEvaluationAggregator()
+        .get(this.node.getNodeType().getNodeId());
 
     double reputationValue =
       this.reputation.calculate(
-          evaluationTransactions,
+          evaluations,
           this.node.isUseLatestCredibility(),
           this.node.isUseCredibility()
         );
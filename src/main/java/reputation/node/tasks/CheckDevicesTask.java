@@ -1,7 +1,6 @@
 package reputation.node.tasks;
 
 import java.io.IOException;
-import java.util.TimerTask;
 import java.util.logging.Logger;
 
 import reputation.node.models.Node;
@@ -13,7 +12,7 @@ import reputation.node.models.Node;
  * @author Allan Capistrano
  * @version 1.0.0
  */
-public class CheckDevicesTask extends TimerTask {
+public class CheckDevicesTask extends NodeTask {
 
   private final Node node;
   private static final Logger logger = Logger.getLogger(
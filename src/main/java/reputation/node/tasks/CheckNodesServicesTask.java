@@ -4,21 +4,26 @@ import dlt.client.tangle.hornet.enums.TransactionType;
 import dlt.client.tangle.hornet.model.transactions.IndexTransaction;
 import dlt.client.tangle.hornet.model.transactions.Transaction;
 import dlt.client.tangle.hornet.model.transactions.reputation.HasReputationService;
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import reputation.node.enums.NodeServiceType;
+import reputation.node.models.DiscoveryRound;
 import reputation.node.models.Node;
+import reputation.node.models.ProviderDirectory;
 
 /**
  * Classe responsável pela tarefa de obter os nós que prestam um determinado
- * serviço
+ * serviço. Pode existir uma rodada de requisição em andamento para cada tipo
+ * de serviço, limitadas a 'maxDiscoveryRounds'.
  *
  * @author Allan Capistrano
- * @version 1.0.0
+ * @version 1.4.1
  */
-public class CheckNodesServicesTask extends TimerTask {
+public class CheckNodesServicesTask extends NodeTask {
 
   private final Node node;
   private static final Logger logger = Logger.getLogger(
@@ -36,64 +41,129 @@ public class CheckNodesServicesTask extends TimerTask {
 
   @Override
   public void run() {
-    if (!this.node.isRequestingNodeServices()) {
-      /**
-       * Serviço sendo escolhido de maneira aleatório.
-       */
-      int randomIndex = new Random().nextInt(NodeServiceType.values().length);
-
-      NodeServiceType nodeServiceType = NodeServiceType.values()[randomIndex];
-
-      /**
-       * Salvando qual foi o último tipo de serviço requisitado.
-       */
-      this.node.setLastNodeServiceTransactionType(
-          nodeServiceType.getDescription()
-        );
+    /**
+     * Serviços sem uma rodada de requisição em andamento, em ordem aleatória.
+     */
+    List<NodeServiceType> nodeServiceTypes = new ArrayList<>();
 
-      /**
-       * Permitindo o nó a receber as respostas dos outros nós.
-       */
-      this.node.setCanReceiveNodesResponse(true);
+    for (NodeServiceType nodeServiceType : NodeServiceType.values()) {
+      if (!this.node.hasDiscoveryRound(nodeServiceType)) {
+        nodeServiceTypes.add(nodeServiceType);
+      }
+    }
 
-      logger.info(
-        "Checking nodes with " + nodeServiceType.getDescription() + " service."
-      );
+    Collections.shuffle(nodeServiceTypes);
 
-      Transaction transaction = new HasReputationService(
-        this.node.getNodeType().getNodeId(),
-        this.node.getNodeType().getNodeGroup(),
-        nodeServiceType.getDescription(),
-        TransactionType.REP_HAS_SVC
-      );
+    for (NodeServiceType nodeServiceType : nodeServiceTypes) {
+      if (
+        this.node.getAmountDiscoveryRounds() >=
+        this.node.getMaxDiscoveryRounds()
+      ) {
+        break;
+      }
 
-      String transactionTypeString = TransactionType.REP_HAS_SVC.name();
-
-      this.node.setRequestingNodeServices(true);
-
-      try {
-        this.node.getLedgerConnector()
-          .getLedgerWriter()
-          .put(new IndexTransaction(transactionTypeString, transaction));
-
-        /**
-         * Timer para aguardar as aceitar as respostas dos nós.
-         */
-        new Timer()
-          .scheduleAtFixedRate(
-            new WaitNodesResponsesTask(
-              (this.node.getWaitNodesResponsesTaskTime() * 1000),
-              this.node
-            ),
-            0,
-            1000
-          );
-      } catch (InterruptedException ie) {
-        logger.warning(
-          "Error trying to create a " + transactionTypeString + " transaction."
+      this.requestNodesServices(nodeServiceType);
+    }
+  }
+
+  /**
+   * Inicia uma rodada de requisição de um serviço aos outros nós. Caso
+   * existam respostas válidas em cache, elas são usadas no lugar da
+   * requisição, que só é feita quando as respostas estão próximas de expirar.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço requisitado.
+   */
+  private void requestNodesServices(NodeServiceType nodeServiceType) {
+    ProviderDirectory providerDirectory = this.node.getProviderDirectory();
+
+    if (
+      providerDirectory.isEnabled(nodeServiceType) &&
+      this.node.useCachedProviders(nodeServiceType)
+    ) {
+      if (
+        providerDirectory.shouldRefresh(
+          nodeServiceType,
+          TimeUnit.SECONDS.toMillis(this.node.getWaitNodesResponsesTaskTime())
+        )
+      ) {
+        logger.info(
+          "Refreshing nodes with " +
+          nodeServiceType.getDescription() +
+          " service."
         );
-        logger.warning(ie.getStackTrace().toString());
+
+        /* As respostas são adicionadas na cache, sem uma rodada associada. */
+        this.publishServiceRequest(nodeServiceType)
+          .exceptionally(throwable -> {
+            logger.warning(throwable.getMessage());
+
+            return null;
+          });
       }
+
+      return;
+    }
+
+    /**
+     * Permitindo o nó a receber as respostas dos outros nós.
+     */
+    DiscoveryRound round = this.node.startDiscoveryRound(nodeServiceType);
+
+    if (round == null) {
+      return;
     }
+
+    logger.info(
+      "Checking nodes with " + nodeServiceType.getDescription() + " service."
+    );
+
+    this.publishServiceRequest(nodeServiceType)
+      .whenComplete((indexTransaction, throwable) -> {
+        if (throwable == null) {
+          /**
+           * Tempo limite para aguardar e aceitar as respostas dos nós.
+           */
+          round.setTimeoutTask(
+            this.node.getTaskScheduler()
+              .schedule(
+                new WaitNodesResponsesTask(this.node, round, false),
+                this.node.getWaitNodesResponsesTaskTime(),
+                TimeUnit.SECONDS
+              )
+          );
+        } else {
+          logger.warning(
+            "Error trying to create a " +
+            TransactionType.REP_HAS_SVC.name() +
+            " transaction."
+          );
+          logger.warning(throwable.getMessage());
+
+          /* Permitindo uma nova requisição no próximo período. */
+          this.node.abortDiscoveryRound(round);
+        }
+      });
+  }
+
+  /**
+   * Publica na Tangle a requisição de um serviço aos outros nós.
+   *
+   * @param nodeServiceType NodeServiceType - Tipo do serviço requisitado.
+   * @return CompletableFuture<IndexTransaction>
+   */
+  private CompletableFuture<IndexTransaction> publishServiceRequest(
+    NodeServiceType nodeServiceType
+  ) {
+    Transaction transaction = new HasReputationService(
+      this.node.getNodeType().getNodeId(),
+      this.node.getNodeType().getNodeGroup(),
+      nodeServiceType.getDescription(),
+      TransactionType.REP_HAS_SVC
+    );
+
+    return this.node.getLedgerConnector()
+      .putAsync(
+        new IndexTransaction(TransactionType.REP_HAS_SVC.name(), transaction)
+      );
   }
 }
@@ -0,0 +1,54 @@
+package reputation.node.tasks;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Tarefa executada pelo escalonador do nó. Permite que a própria tarefa, ou
+ * quem a criou, cancele as suas próximas execuções.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public abstract class NodeTask implements Runnable {
+
+  private volatile ScheduledFuture<?> future;
+  private volatile boolean cancelled = false;
+
+  /**
+   * Cancela as próximas execuções da tarefa. Caso a tarefa esteja sendo
+   * executada, ela não é interrompida.
+   *
+   * @return boolean - Se a tarefa ainda não havia sido cancelada.
+   */
+  public boolean cancel() {
+    boolean wasCancelled = this.cancelled;
+
+    this.cancelled = true;
+
+    ScheduledFuture<?> scheduledFuture = this.future;
+
+    if (scheduledFuture != null) {
+      scheduledFuture.cancel(false);
+    }
+
+    return !wasCancelled;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Associa a tarefa ao seu agendamento. Caso a tarefa tenha sido cancelada
+   * antes de ser agendada, o agendamento também é cancelado.
+   *
+   * @param future ScheduledFuture<?> - Agendamento da tarefa.
+   */
+  void setFuture(ScheduledFuture<?> future) {
+    this.future = future;
+
+    if (this.cancelled) {
+      future.cancel(false);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package reputation.node.tasks;
+
+import reputation.node.utils.MQTTClient;
+
+/**
+ * Classe responsável pela tarefa de registrar a latência das publicações
+ * MQTT e a quantidade de publicações aguardando a confirmação do servidor.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class ReportPublishStatsTask extends NodeTask {
+
+  private final MQTTClient MQTTClient;
+
+  /**
+   * Método construtor.
+   *
+   * @param MQTTClient MQTTClient - Cliente MQTT do nó.
+   */
+  public ReportPublishStatsTask(MQTTClient MQTTClient) {
+    this.MQTTClient = MQTTClient;
+  }
+
+  @Override
+  public void run() {
+    this.MQTTClient.reportPublishStats();
+  }
+}
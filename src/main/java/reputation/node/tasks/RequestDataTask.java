@@ -1,18 +1,17 @@
 package reputation.node.tasks;
 
-import java.util.TimerTask;
 import java.util.logging.Logger;
 
 import reputation.node.models.Node;
 
 /**
- * Classe responsável pela tarefa de requisitar dados de um dos sensores de um
- * dispositivo aleatório que estão conectado ao nó.
+ * Classe responsável pela tarefa de requisitar dados de um dos sensores dos
+ * dispositivos que estão conectados ao nó.
  *
  * @author Allan Capistrano
- * @version 1.0.0
+ * @version 1.1.0
  */
-public class RequestDataTask extends TimerTask {
+public class RequestDataTask extends NodeTask {
 
   private final Node node;
   private static final Logger logger = Logger.getLogger(
@@ -31,9 +30,10 @@ public class RequestDataTask extends TimerTask {
   @Override
   public void run() {
     if (this.node.getAmountDevices() > 0) {
-      logger.info("Requesting data from device");
+      /* Com o 'pollingRate', a tarefa pode executar várias vezes por segundo. */
+      logger.fine("Requesting data from device");
 
-      this.node.requestDataFromRandomDevice();
+      this.node.requestDataFromDevice();
     }
   }
 }
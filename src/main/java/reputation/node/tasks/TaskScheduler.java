@@ -0,0 +1,146 @@
+package reputation.node.tasks;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Escalonador compartilhado por todas as tarefas do nó, com um número fixo de
+ * threads.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public class TaskScheduler {
+
+  private static final long SHUTDOWN_TIMEOUT = 5;
+
+  private final ScheduledThreadPoolExecutor executor;
+  private static final Logger logger = Logger.getLogger(
+    TaskScheduler.class.getName()
+  );
+
+  /**
+   * Método construtor.
+   *
+   * @param poolSize int - Quantidade de threads do escalonador.
+   */
+  public TaskScheduler(int poolSize) {
+    this.executor =
+      new ScheduledThreadPoolExecutor(
+        poolSize,
+        new SchedulerThreadFactory()
+      );
+
+    /* Tarefas canceladas são removidas da fila imediatamente. */
+    this.executor.setRemoveOnCancelPolicy(true);
+  }
+
+  /**
+   * Agenda uma tarefa para ser executada periodicamente.
+   *
+   * @param task T - Tarefa.
+   * @param initialDelay long - Tempo até a primeira execução.
+   * @param period long - Intervalo entre as execuções.
+   * @param unit TimeUnit - Unidade de tempo.
+   * @return T
+   */
+  public <T extends NodeTask> T scheduleAtFixedRate(
+    T task,
+    long initialDelay,
+    long period,
+    TimeUnit unit
+  ) {
+    task.setFuture(
+      this.executor.scheduleAtFixedRate(
+          this.guard(task),
+          initialDelay,
+          period,
+          unit
+        )
+    );
+
+    return task;
+  }
+
+  /**
+   * Agenda uma tarefa para ser executada uma única vez.
+   *
+   * @param task T - Tarefa.
+   * @param delay long - Tempo até a execução.
+   * @param unit TimeUnit - Unidade de tempo.
+   * @return T
+   */
+  public <T extends NodeTask> T schedule(T task, long delay, TimeUnit unit) {
+    task.setFuture(this.executor.schedule(this.guard(task), delay, unit));
+
+    return task;
+  }
+
+  /**
+   * Cancela todas as tarefas e finaliza as threads do escalonador.
+   */
+  public void shutdown() {
+    this.executor.shutdownNow();
+
+    try {
+      if (
+        !this.executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)
+      ) {
+        logger.warning("Scheduler tasks did not finish in time.");
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Impede que uma exceção em uma tarefa periódica cancele as suas próximas
+   * execuções.
+   *
+   * @param task NodeTask - Tarefa.
+   * @return Runnable
+   */
+  private Runnable guard(NodeTask task) {
+    return () -> {
+      if (task.isCancelled()) {
+        return;
+      }
+
+      try {
+        task.run();
+      } catch (RuntimeException re) {
+        logger.severe(
+          String.format(
+            "Error running %s: %s",
+            task.getClass().getSimpleName(),
+            re
+          )
+        );
+      }
+    };
+  }
+
+  /**
+   * Cria as threads do escalonador como daemon, para que não impeçam a
+   * finalização do bundle.
+   */
+  private static final class SchedulerThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(
+        runnable,
+        "reputation-node-scheduler-" + this.threadNumber.getAndIncrement()
+      );
+
+      thread.setDaemon(true);
+
+      return thread;
+    }
+  }
+}
@@ -1,20 +1,21 @@
 package reputation.node.tasks;
 
-import java.util.TimerTask;
 import java.util.logging.Logger;
+import reputation.node.models.DeviceRequest;
 import reputation.node.models.Node;
 
 /**
- * Classe responsável por verificar se houve resposta do dispositivo à
- * requisição feita pelo nó.
+ * Classe responsável por avaliar o dispositivo caso ele não responda à
+ * requisição feita pelo nó dentro do tempo limite. A tarefa é agendada uma
+ * única vez para cada requisição, para o fim do tempo limite, e é cancelada
+ * quando o dispositivo responde a essa requisição.
  *
  * @author Allan Capistrano
- * @version 1.1.0
+ * @version 1.4.0
  */
-public class WaitDeviceResponseTask extends TimerTask {
+public class WaitDeviceResponseTask extends NodeTask {
 
-  private int timer, timeoutWaitDeviceResponse;
-  private final String deviceId;
+  private final DeviceRequest request;
   private final Node node;
   private static final Logger logger = Logger.getLogger(
     WaitDeviceResponseTask.class.getName()
@@ -23,50 +24,42 @@ public class WaitDeviceResponseTask extends TimerTask {
   /**
    * Método construtor.
    *
-   * @param deviceId String - ID do dispositivo.
-   * @param timeoutWaitDeviceResponse int - Tempo máximo para aguardar a
-   * resposta do dispositivo.
+   * @param request DeviceRequest - Requisição feita ao dispositivo.
    * @param node Node - Nó o qual está esperando a resposta.
    */
-  public WaitDeviceResponseTask(
-    String deviceId,
-    int timeoutWaitDeviceResponse,
-    Node node
-  ) {
-    this.timer = 0;
-    this.timeoutWaitDeviceResponse = timeoutWaitDeviceResponse;
-    this.deviceId = deviceId;
+  public WaitDeviceResponseTask(DeviceRequest request, Node node) {
+    this.request = request;
     this.node = node;
   }
 
   @Override
   public void run() {
-    logger.info(
-      String.format("Waiting for %s response: %d...", this.deviceId, ++timer)
-    );
+    /* O dispositivo respondeu enquanto a tarefa era iniciada. */
+    if (!this.node.getDeviceRequests().expire(this.request)) {
+      return;
+    }
 
-    if ((timer * 1000) >= timeoutWaitDeviceResponse) {
-      logger.warning("Timeout for waiting for " + this.deviceId + " response.");
+    logger.warning(
+      "Timeout for waiting for " + this.request.getDeviceId() + " response."
+    );
 
-      /* Avaliação de serviço prestado incorretamente. */
-      try {
-        int serviceEvaluation = 0;
-        float nodeCredibility =
-          this.node.getNodeCredibility(this.node.getNodeType().getNodeId());
-        float evaluationValue = serviceEvaluation * nodeCredibility;
+    /* Avaliação de serviço prestado incorretamente. */
+    try {
+      int serviceEvaluation = 0;
+      float nodeCredibility = this.node.getOwnCredibility();
+      float evaluationValue = serviceEvaluation * nodeCredibility;
 
-        this.node.getNodeType()
-          .getNode()
-          .evaluateServiceProvider(
-            this.deviceId,
-            serviceEvaluation,
-            nodeCredibility,
-            evaluationValue
-          );
-      } catch (InterruptedException e) {
-        logger.warning("Could not add transaction on tangle network.");
-      }
-      this.cancel();
+      this.node.getNodeType()
+        .getNode()
+        .evaluateServiceProvider(
+          this.request.getDeviceId(),
+          serviceEvaluation,
+          nodeCredibility,
+          evaluationValue
+        );
+      this.node.getDevicePoller().markEvaluated(this.request.getDeviceId());
+    } catch (InterruptedException e) {
+      logger.warning("Could not add transaction on tangle network.");
     }
   }
 }
@@ -1,20 +1,23 @@
 package reputation.node.tasks;
 
-import java.util.TimerTask;
 import java.util.logging.Logger;
+import reputation.node.models.DiscoveryRound;
 import reputation.node.models.Node;
 
 /**
  * Classe responsável por determinar um tempo limite para um nó receber as
- * respostas dos outros nós à solicitação de serviços.
+ * respostas dos outros nós à solicitação de serviços. A tarefa é agendada uma
+ * única vez, para o fim do tempo limite, ou imediatamente caso o quórum de
+ * respostas seja atingido antes.
  *
  * @author Allan Capistrano
- * @version 1.0.0
+ * @version 1.2.0
  */
-public class WaitNodesResponsesTask extends TimerTask {
+public class WaitNodesResponsesTask extends NodeTask {
 
-  private int timer, timeoutWaitNodesResponses;
   private final Node node;
+  private final DiscoveryRound round;
+  private final boolean quorumReached;
   private static final Logger logger = Logger.getLogger(
     WaitNodesResponsesTask.class.getName()
   );
@@ -22,35 +25,31 @@ public class WaitNodesResponsesTask extends TimerTask {
   /**
    * Método construtor
    *
-   * @param timeoutWaitNodesResponses int - Tempo máximo para aguardar a
-   * resposta dos nós.
    * @param node Node - Nó o qual está esperando a resposta.
+   * @param round DiscoveryRound - Rodada de requisição que será encerrada.
+   * @param quorumReached boolean - Se a rodada está sendo encerrada pelo
+   * quórum, e não pelo tempo limite.
    */
-  public WaitNodesResponsesTask(int timeoutWaitNodesResponses, Node node) {
-    this.timeoutWaitNodesResponses = timeoutWaitNodesResponses;
+  public WaitNodesResponsesTask(
+    Node node,
+    DiscoveryRound round,
+    boolean quorumReached
+  ) {
     this.node = node;
-    this.timer = 0;
+    this.round = round;
+    this.quorumReached = quorumReached;
   }
 
   @Override
   public void run() {
-    this.timer++;
-
-    if ((timer * 1000) >= this.timeoutWaitNodesResponses) {
+    if (!this.quorumReached) {
       logger.info("Timeout waiting for Nodes responses.");
-
-      /**
-       * Impede o nó de receber as respostas dos outros nós.
-       */
-      this.node.setCanReceiveNodesResponse(false);
-
-      /**
-       * Usando e avaliando o serviço do nó com a maior reputação, e
-       * avaliando-o.
-       */
-      this.node.useNodeService();
-
-      this.cancel();
     }
+
+    /**
+     * Impede o nó de receber as respostas dos outros nós, e usa e avalia o
+     * serviço do nó com a maior reputação.
+     */
+    this.node.finishDiscoveryRound(this.round, this.quorumReached);
   }
 }
@@ -0,0 +1,174 @@
+package reputation.node.utils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Extrai das respostas dos dispositivos somente os campos usados pelo nó,
+ * lendo o JSON em fluxo, sem criar a árvore do JSON. A mensagem é decodificada
+ * em uma única String, pois um InputStreamReader aloca buffers maiores do que
+ * a própria mensagem. Não possui estado, então pode ser usado por várias
+ * threads ao mesmo tempo.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public final class DeviceResponseParser {
+
+  private static final String GET_METHOD = "GET";
+
+  private DeviceResponseParser() {}
+
+  /**
+   * Obtém o ID do dispositivo e os IDs dos sensores de uma resposta a uma
+   * requisição 'GET'. A leitura é encerrada assim que esses campos são
+   * encontrados.
+   *
+   * @param payload byte[] - Conteúdo da mensagem MQTT, em UTF-8.
+   * @return DeviceResponse - Ou null, caso a mensagem não seja uma resposta a
+   * uma requisição 'GET' ou seja inválida.
+   */
+  public static DeviceResponse parse(byte[] payload) {
+    String method = null;
+    String deviceId = null;
+    List<String> sensorIds = null;
+
+    try (
+      JsonReader reader = new JsonReader(
+        new StringReader(new String(payload, StandardCharsets.UTF_8))
+      )
+    ) {
+      reader.setLenient(true);
+      reader.beginObject();
+
+      while (
+        reader.hasNext() &&
+        (method == null || deviceId == null || sensorIds == null)
+      ) {
+        switch (reader.nextName()) {
+          case "METHOD":
+            method = nextString(reader);
+
+            /* Não é uma resposta, então não é necessário continuar a leitura. */
+            if (!GET_METHOD.equals(method)) {
+              return null;
+            }
+            break;
+          case "HEADER":
+            deviceId = readDeviceId(reader);
+            break;
+          case "BODY":
+            sensorIds = readKeys(reader);
+            break;
+          default:
+            reader.skipValue();
+            break;
+        }
+      }
+    } catch (IOException | IllegalStateException e) {
+      return null;
+    }
+
+    if (!GET_METHOD.equals(method) || deviceId == null) {
+      return null;
+    }
+
+    return new DeviceResponse(
+      deviceId,
+      sensorIds == null ? Collections.emptyList() : sensorIds
+    );
+  }
+
+  /**
+   * Lê o campo 'NAME' do cabeçalho da resposta.
+   */
+  private static String readDeviceId(JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+      reader.skipValue();
+
+      return null;
+    }
+
+    String deviceId = null;
+
+    reader.beginObject();
+
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+
+      if (deviceId == null && name.equals("NAME")) {
+        deviceId = nextString(reader);
+      } else {
+        reader.skipValue();
+      }
+    }
+
+    reader.endObject();
+
+    return deviceId;
+  }
+
+  /**
+   * Lê as chaves do corpo da resposta, que são os IDs dos sensores.
+   */
+  private static List<String> readKeys(JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+      reader.skipValue();
+
+      return Collections.emptyList();
+    }
+
+    List<String> keys = new ArrayList<>(2);
+
+    reader.beginObject();
+
+    while (reader.hasNext()) {
+      keys.add(reader.nextName());
+      reader.skipValue();
+    }
+
+    reader.endObject();
+
+    return keys;
+  }
+
+  private static String nextString(JsonReader reader) throws IOException {
+    JsonToken token = reader.peek();
+
+    if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+      return reader.nextString();
+    }
+
+    reader.skipValue();
+
+    return null;
+  }
+
+  /**
+   * Campos de uma resposta de um dispositivo.
+   */
+  public static final class DeviceResponse {
+
+    private final String deviceId;
+    private final List<String> sensorIds;
+
+    private DeviceResponse(String deviceId, List<String> sensorIds) {
+      this.deviceId = deviceId;
+      this.sensorIds = sensorIds;
+    }
+
+    public String getDeviceId() {
+      return deviceId;
+    }
+
+    public List<String> getSensorIds() {
+      return sensorIds;
+    }
+  }
+}
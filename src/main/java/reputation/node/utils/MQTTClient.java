@@ -1,22 +1,41 @@
 package reputation.node.utils;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
 import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
 import org.eclipse.paho.client.mqttv3.IMqttMessageListener;
 import org.eclipse.paho.client.mqttv3.IMqttToken;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
 import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
-import org.eclipse.paho.client.mqttv3.MqttClient;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
 import org.eclipse.paho.client.mqttv3.persist.MqttDefaultFilePersistence;
 
+/**
+ * Cliente MQTT do nó. Usa o cliente assíncrono do Paho, e as operações que
+ * precisam aguardar o servidor o fazem explicitamente. As publicações podem
+ * aguardar a confirmação do servidor ou, com 'asyncPublish', ser enviadas em
+ * sequência, limitadas a 'maxInflight' publicações sem confirmação.
+ *
+ * @author Allan Capistrano
+ * @version 1.2.0
+ */
 public class MQTTClient implements MqttCallbackExtended {
 
   /*-------------------------Constantes--------------------------------------*/
   private static final int QOS = 1;
   private static final String CONNECTED = "CONNECTED/1/1";
+  /* Tempo máximo de espera por uma vaga entre as publicações sem confirmação. */
+  private static final long INFLIGHT_WAIT_TIMEOUT = 3000;
   /*-------------------------------------------------------------------------*/
 
   private String ip;
@@ -24,9 +43,22 @@ public class MQTTClient implements MqttCallbackExtended {
   private String userName;
   private String password;
   private String serverURI;
-  private MqttClient mqttClient;
+  private MqttAsyncClient mqttClient;
   private MqttConnectOptions mqttOptions;
   private boolean debugModeValue;
+  private boolean asyncPublish = false;
+  private int maxInflight = 200;
+  private Semaphore inflightPermits;
+  private final List<Runnable> reconnectListeners = new CopyOnWriteArrayList<>();
+  private final AtomicLong publishedMessages = new AtomicLong();
+  private final AtomicLong failedPublishes = new AtomicLong();
+  private final AtomicLong sumPublishLatencies = new AtomicLong();
+  private final AtomicLong maxPublishLatency = new AtomicLong();
+  /* Maior latência desde o último relatório das publicações. */
+  private final AtomicLong periodMaxPublishLatency = new AtomicLong();
+  private long reportedPublishes = 0;
+  private long reportedFailedPublishes = 0;
+  private long reportedSumPublishLatencies = 0;
   private static final Logger logger = Logger.getLogger(
     MQTTClient.class.getName()
   );
@@ -57,8 +89,10 @@ public class MQTTClient implements MqttCallbackExtended {
 
     this.serverURI = String.format("tcp://%s:%s", this.ip, this.port);
 
+    this.inflightPermits = new Semaphore(this.maxInflight);
+
     this.mqttOptions = new MqttConnectOptions();
-    this.mqttOptions.setMaxInflight(200);
+    this.mqttOptions.setMaxInflight(this.maxInflight);
     this.mqttOptions.setConnectionTimeout(3);
     this.mqttOptions.setKeepAliveInterval(10);
     this.mqttOptions.setAutomaticReconnect(true);
@@ -72,6 +106,15 @@ public class MQTTClient implements MqttCallbackExtended {
    * Finaliza o client MQTT.
    */
   public void stop() {
+    printlnDebug(
+      String.format(
+        "Published %d messages (%d failed), average latency %.2f ms, max latency %.2f ms.",
+        this.getPublishedMessages(),
+        this.getFailedPublishes(),
+        this.getAveragePublishLatency(),
+        this.getMaxPublishLatency()
+      )
+    );
     printlnDebug("Finishing MQTTClient....");
   }
 
@@ -85,14 +128,14 @@ public class MQTTClient implements MqttCallbackExtended {
       );
 
       this.mqttClient =
-        new MqttClient(
+        new MqttAsyncClient(
           this.serverURI,
           String.format("cliente_java_%d", System.currentTimeMillis()),
           new MqttDefaultFilePersistence(System.getProperty("java.io.tmpdir"))
         );
 
       this.mqttClient.setCallback(this);
-      this.mqttClient.connect(mqttOptions);
+      this.mqttClient.connect(mqttOptions).waitForCompletion();
     } catch (MqttException ex) {
       printlnDebug(
         "Error connecting to MQTT broker " + this.serverURI + " - " + ex
@@ -109,7 +152,7 @@ public class MQTTClient implements MqttCallbackExtended {
     }
 
     try {
-      mqttClient.disconnect();
+      mqttClient.disconnect().waitForCompletion();
       mqttClient.close();
 
       printlnDebug("Disconnected from MQTT broker!");
@@ -148,11 +191,15 @@ public class MQTTClient implements MqttCallbackExtended {
     }
 
     try {
-      return mqttClient.subscribeWithResponse(
+      IMqttToken token = mqttClient.subscribe(
         topics,
         qualityOfServices,
         listeners
       );
+
+      token.waitForCompletion();
+
+      return token;
     } catch (MqttException ex) {
       printlnDebug(
         String.format(
@@ -165,6 +212,27 @@ public class MQTTClient implements MqttCallbackExtended {
     }
   }
 
+  /**
+   * Registra uma tarefa a ser executada sempre que o cliente se reconectar ao
+   * servidor, como refazer as assinaturas dos tópicos. As tarefas são
+   * executadas em uma nova thread, e não na thread de callbacks do Paho, pois
+   * podem aguardar o servidor.
+   *
+   * @param listener Runnable - Tarefa a ser executada.
+   */
+  public void addReconnectListener(Runnable listener) {
+    this.reconnectListeners.add(listener);
+  }
+
+  /**
+   * Remove uma tarefa registrada com 'addReconnectListener'.
+   *
+   * @param listener Runnable - Tarefa a ser removida.
+   */
+  public void removeReconnectListener(Runnable listener) {
+    this.reconnectListeners.remove(listener);
+  }
+
   /**
    * Cancela a assinatura do cliente em um ou mais tópicos.
    *
@@ -176,7 +244,7 @@ public class MQTTClient implements MqttCallbackExtended {
     }
 
     try {
-      mqttClient.unsubscribe(topics);
+      mqttClient.unsubscribe(topics).waitForCompletion();
     } catch (MqttException ex) {
       printlnDebug(
         String.format(
@@ -190,19 +258,120 @@ public class MQTTClient implements MqttCallbackExtended {
 
   /**
    * Repassa informações para a publicação de uma mensagem em um tópico
-   * no servidor.
+   * no servidor. Com 'asyncPublish', não aguarda a confirmação do servidor.
    *
    * @param topic String - Tópico em que será publicada a mensagem.
    * @param payload byte[] - Matriz de bytes da mensagem.
    * @param qos int - Qualidade do serviço.
    */
   public void publish(String topic, byte[] payload, int qos) {
-    publish(topic, payload, qos, false);
+    if (this.asyncPublish) {
+      this.publishAsync(topic, payload, qos)
+        .exceptionally(throwable -> {
+          printlnDebug("Error to publish " + topic + " - " + throwable);
+
+          return null;
+        });
+    } else {
+      publish(topic, payload, qos, false);
+    }
   }
 
   /**
-   * Publica uma mensagem em um tópico no servidor e retorna a mensagem
-   * aos assinantes assim que for entregue.
+   * Publica uma mensagem em um tópico no servidor sem aguardar a confirmação.
+   * Caso já existam 'maxInflight' publicações sem confirmação, aguarda até
+   * que uma delas seja confirmada, por no máximo 'INFLIGHT_WAIT_TIMEOUT'
+   * milissegundos. A espera é limitada porque as confirmações são entregues
+   * pela mesma thread que entrega as mensagens recebidas, e uma publicação
+   * feita a partir dela nunca seria liberada.
+   *
+   * @param topic String - Tópico em que será publicada a mensagem.
+   * @param payload byte[] - Matriz de bytes da mensagem.
+   * @param qos int - Qualidade do serviço.
+   * @return CompletableFuture<Void> - Concluído quando o servidor confirmar a
+   * publicação, ou concluído com TimeoutException caso não haja vaga.
+   */
+  public CompletableFuture<Void> publishAsync(
+    String topic,
+    byte[] payload,
+    int qos
+  ) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+
+    if (mqttClient == null || !mqttClient.isConnected()) {
+      future.completeExceptionally(
+        new IllegalStateException(
+          "Client disconnected, could not publish topic " + topic
+        )
+      );
+
+      return future;
+    }
+
+    try {
+      if (
+        !this.inflightPermits.tryAcquire(
+            INFLIGHT_WAIT_TIMEOUT,
+            TimeUnit.MILLISECONDS
+          )
+      ) {
+        this.failedPublishes.incrementAndGet();
+        future.completeExceptionally(
+          new TimeoutException(
+            String.format(
+              "%d publishes awaiting confirmation, could not publish topic %s",
+              this.maxInflight,
+              topic
+            )
+          )
+        );
+
+        return future;
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      future.completeExceptionally(ie);
+
+      return future;
+    }
+
+    long startedAt = System.nanoTime();
+
+    try {
+      mqttClient.publish(
+        topic,
+        payload,
+        qos,
+        false,
+        null,
+        new IMqttActionListener() {
+          @Override
+          public void onSuccess(IMqttToken token) {
+            inflightPermits.release();
+            recordPublish(System.nanoTime() - startedAt);
+            future.complete(null);
+          }
+
+          @Override
+          public void onFailure(IMqttToken token, Throwable exception) {
+            inflightPermits.release();
+            failedPublishes.incrementAndGet();
+            future.completeExceptionally(exception);
+          }
+        }
+      );
+    } catch (MqttException ex) {
+      this.inflightPermits.release();
+      this.failedPublishes.incrementAndGet();
+      future.completeExceptionally(ex);
+    }
+
+    return future;
+  }
+
+  /**
+   * Publica uma mensagem em um tópico no servidor e aguarda a confirmação
+   * da entrega.
    *
    * @param topic String - Tópico em que será publicada a mensagem.
    * @param payload byte[] - Matriz de bytes da mensagem.
@@ -218,7 +387,10 @@ public class MQTTClient implements MqttCallbackExtended {
   ) {
     try {
       if (mqttClient.isConnected()) {
-        mqttClient.publish(topic, payload, qos, retained);
+        long startedAt = System.nanoTime();
+
+        mqttClient.publish(topic, payload, qos, retained).waitForCompletion();
+        this.recordPublish(System.nanoTime() - startedAt);
         printlnDebug(
           String.format("Topic %s published. %dB", topic, payload.length)
         );
@@ -226,10 +398,96 @@ public class MQTTClient implements MqttCallbackExtended {
         printlnDebug("Client disconnected, could not publish topic " + topic);
       }
     } catch (MqttException ex) {
+      this.failedPublishes.incrementAndGet();
       printlnDebug("Error to publish " + topic + " - " + ex);
     }
   }
 
+  private void recordPublish(long latency) {
+    this.publishedMessages.incrementAndGet();
+    this.sumPublishLatencies.addAndGet(latency);
+    this.maxPublishLatency.accumulateAndGet(latency, Math::max);
+    this.periodMaxPublishLatency.accumulateAndGet(latency, Math::max);
+  }
+
+  /**
+   * Registra as publicações feitas desde o último relatório, com a latência
+   * média e máxima do período e a quantidade de publicações aguardando a
+   * confirmação do servidor.
+   */
+  public synchronized void reportPublishStats() {
+    long published = this.publishedMessages.get();
+    long failed = this.failedPublishes.get();
+    long sumLatencies = this.sumPublishLatencies.get();
+    long periodPublished = published - this.reportedPublishes;
+    long nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+
+    logger.info(
+      String.format(
+        "Published %d messages (%d failed), average latency %.2f ms, max latency %.2f ms, %d of %d in flight.",
+        periodPublished,
+        failed - this.reportedFailedPublishes,
+        periodPublished == 0
+          ? 0
+          : (double) (sumLatencies - this.reportedSumPublishLatencies) /
+          periodPublished /
+          nanosPerMilli,
+        (double) this.periodMaxPublishLatency.getAndSet(0) / nanosPerMilli,
+        this.getInflightPublishes(),
+        this.maxInflight
+      )
+    );
+
+    this.reportedPublishes = published;
+    this.reportedFailedPublishes = failed;
+    this.reportedSumPublishLatencies = sumLatencies;
+  }
+
+  /**
+   * Quantidade de publicações aguardando a confirmação do servidor.
+   *
+   * @return int
+   */
+  public int getInflightPublishes() {
+    return this.inflightPermits == null
+      ? 0
+      : this.maxInflight - this.inflightPermits.availablePermits();
+  }
+
+  public long getPublishedMessages() {
+    return publishedMessages.get();
+  }
+
+  public long getFailedPublishes() {
+    return failedPublishes.get();
+  }
+
+  /**
+   * Média do tempo (milissegundos) entre a publicação e a confirmação do
+   * servidor.
+   *
+   * @return double
+   */
+  public double getAveragePublishLatency() {
+    long published = this.publishedMessages.get();
+
+    return published == 0
+      ? 0
+      : (double) this.sumPublishLatencies.get() /
+      published /
+      TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  /**
+   * Maior tempo (milissegundos) entre a publicação e a confirmação do
+   * servidor.
+   *
+   * @return double
+   */
+  public double getMaxPublishLatency() {
+    return (double) this.maxPublishLatency.get() / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
   @Override
   public void connectionLost(Throwable cause) {
     this.printlnDebug(
@@ -255,6 +513,16 @@ public class MQTTClient implements MqttCallbackExtended {
           reconnect ? "Reconnected!" : "Connected"
         )
       );
+
+    if (reconnect && !this.reconnectListeners.isEmpty()) {
+      Thread thread = new Thread(
+        () -> this.reconnectListeners.forEach(Runnable::run),
+        "mqtt-reconnect"
+      );
+
+      thread.setDaemon(true);
+      thread.start();
+    }
   }
 
   private void printlnDebug(String str) {
@@ -263,6 +531,22 @@ public class MQTTClient implements MqttCallbackExtended {
     }
   }
 
+  public boolean isAsyncPublish() {
+    return asyncPublish;
+  }
+
+  public void setAsyncPublish(boolean asyncPublish) {
+    this.asyncPublish = asyncPublish;
+  }
+
+  public int getMaxInflight() {
+    return maxInflight;
+  }
+
+  public void setMaxInflight(int maxInflight) {
+    this.maxInflight = maxInflight;
+  }
+
   public boolean isDebugModeValue() {
     return debugModeValue;
   }
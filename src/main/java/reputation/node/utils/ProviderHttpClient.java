@@ -0,0 +1,287 @@
+package reputation.node.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Cliente HTTP usado para consumir os serviços dos nós provedores. As
+ * conexões nunca são encerradas explicitamente após uma resposta completa,
+ * para que sejam reaproveitadas (keep-alive) nas próximas requisições ao mesmo
+ * nó, e todas as requisições possuem tempo limite de conexão e de leitura.
+ * O corpo das respostas é limitado a 'maxResponseSize' bytes.
+ *
+ * @author Allan Capistrano
+ * @version 1.1.0
+ */
+public class ProviderHttpClient {
+
+  private static final String DEVICE_URL =
+    "http://%s:8181/cxf/iot-service/devices/%s/%s";
+  /* Quantidade máxima de bytes lidos do corpo de uma resposta de erro. */
+  private static final int MAX_ERROR_BODY_SIZE = 8192;
+
+  private int connectTimeout;
+  private int readTimeout;
+  private int maxConnectionsPerHost;
+  private boolean mergeEnableRequest;
+  private int maxResponseSize;
+  /* Conexões disponíveis para cada nó provedor. */
+  private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+  private static final Logger logger = Logger.getLogger(
+    ProviderHttpClient.class.getName()
+  );
+
+  public ProviderHttpClient() {}
+
+  /**
+   * Requisita os dados de um sensor a um nó provedor. Caso
+   * 'mergeEnableRequest' seja false, faz antes uma requisição para habilitar
+   * a página do dispositivo.
+   *
+   * @param nodeIp String - IP do nó em que o dispositivo está conectado.
+   * @param deviceId String - ID do dispositivo.
+   * @param sensorId String - ID do sensor.
+   * @param reader ResponseReader<T> - Responsável por ler o corpo da resposta.
+   * @return T - Valor obtido pelo 'reader'.
+   * @throws HttpStatusException - Caso a resposta não seja 200 (OK).
+   * @throws IOException - Caso a requisição falhe ou exceda o tempo limite.
+   */
+  public <T> T getDeviceData(
+    String nodeIp,
+    String deviceId,
+    String sensorId,
+    ResponseReader<T> reader
+  ) throws IOException {
+    URL url = new URL(String.format(DEVICE_URL, nodeIp, deviceId, sensorId));
+    Semaphore permits =
+      this.hostPermits.computeIfAbsent(
+          nodeIp,
+          host -> new Semaphore(this.maxConnectionsPerHost)
+        );
+
+    try {
+      if (!permits.tryAcquire(this.connectTimeout, TimeUnit.MILLISECONDS)) {
+        throw new IOException("Too many connections to " + nodeIp);
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+
+      throw new InterruptedIOException(ie.getMessage());
+    }
+
+    try {
+      if (!this.mergeEnableRequest) {
+        /* Habilitando a página do dispositivo. */
+        try {
+          this.get(url, in -> null);
+        } catch (IOException ioe) {
+          logger.severe(ioe.getMessage());
+        }
+      }
+
+      return this.get(url, reader);
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Faz uma requisição GET. Em caso de sucesso, o fluxo da resposta é somente
+   * fechado, o que permite o reaproveitamento da conexão. Caso o corpo da
+   * resposta exceda 'maxResponseSize' bytes, a leitura falha.
+   */
+  private <T> T get(URL url, ResponseReader<T> reader) throws IOException {
+    HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+
+    conn.setConnectTimeout(this.connectTimeout);
+    conn.setReadTimeout(this.readTimeout);
+    conn.setUseCaches(false);
+
+    try {
+      int responseCode = conn.getResponseCode();
+
+      if (responseCode != HttpURLConnection.HTTP_OK) {
+        /* Lendo o corpo do erro para que a conexão possa ser reaproveitada. */
+        InputStream errorStream = conn.getErrorStream();
+
+        if (errorStream != null) {
+          try (InputStream in = errorStream) {
+            drain(in, Math.min(this.maxResponseSize, MAX_ERROR_BODY_SIZE));
+          } catch (IOException ioe) {
+            conn.disconnect();
+          }
+        }
+
+        throw new HttpStatusException(responseCode);
+      }
+
+      if (conn.getContentLengthLong() > this.maxResponseSize) {
+        throw new IOException(
+          "Response body exceeds " + this.maxResponseSize + " bytes"
+        );
+      }
+
+      try (
+        InputStream in = new LimitedInputStream(
+          conn.getInputStream(),
+          this.maxResponseSize
+        )
+      ) {
+        return reader.read(in);
+      }
+    } catch (HttpStatusException hse) {
+      throw hse;
+    } catch (IOException ioe) {
+      /* O estado da conexão é desconhecido, então ela é descartada. */
+      conn.disconnect();
+
+      throw ioe;
+    }
+  }
+
+  /**
+   * Descarta até 'limit' bytes de um fluxo. Caso o fluxo possua mais bytes,
+   * ao ser fechado a conexão pode não ser reaproveitada.
+   */
+  private static void drain(InputStream in, int limit) throws IOException {
+    byte[] buffer = new byte[Math.min(limit, 1024)];
+    int remaining = limit;
+    int amount;
+
+    while (
+      remaining > 0 &&
+      (amount = in.read(buffer, 0, Math.min(buffer.length, remaining))) != -1
+    ) {
+      remaining -= amount;
+    }
+  }
+
+  public int getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public void setConnectTimeout(int connectTimeout) {
+    this.connectTimeout = connectTimeout;
+  }
+
+  public int getReadTimeout() {
+    return readTimeout;
+  }
+
+  public void setReadTimeout(int readTimeout) {
+    this.readTimeout = readTimeout;
+  }
+
+  public int getMaxConnectionsPerHost() {
+    return maxConnectionsPerHost;
+  }
+
+  public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+  }
+
+  public boolean isMergeEnableRequest() {
+    return mergeEnableRequest;
+  }
+
+  public void setMergeEnableRequest(boolean mergeEnableRequest) {
+    this.mergeEnableRequest = mergeEnableRequest;
+  }
+
+  public int getMaxResponseSize() {
+    return maxResponseSize;
+  }
+
+  public void setMaxResponseSize(int maxResponseSize) {
+    this.maxResponseSize = maxResponseSize;
+  }
+
+  /**
+   * Lê o corpo de uma resposta.
+   */
+  @FunctionalInterface
+  public interface ResponseReader<T> {
+    T read(InputStream in) throws IOException;
+  }
+
+  /**
+   * Resposta com um código diferente de 200 (OK).
+   */
+  public static final class HttpStatusException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public HttpStatusException(int statusCode) {
+      super("HTTP error code : " + statusCode);
+      this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+      return statusCode;
+    }
+  }
+
+  /**
+   * Fluxo que falha ao ultrapassar uma quantidade máxima de bytes lidos.
+   */
+  static final class LimitedInputStream extends FilterInputStream {
+
+    private final long limit;
+    private long count = 0;
+
+    LimitedInputStream(InputStream in, long limit) {
+      super(in);
+      this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+
+      if (b != -1) {
+        this.count(1);
+      }
+
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int amount = super.read(buffer, offset, length);
+
+      if (amount > 0) {
+        this.count(amount);
+      }
+
+      return amount;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+
+      this.count(skipped);
+
+      return skipped;
+    }
+
+    private void count(long amount) throws IOException {
+      this.count += amount;
+
+      if (this.count > this.limit) {
+        throw new IOException("Response body exceeds " + this.limit + " bytes");
+      }
+    }
+  }
+}
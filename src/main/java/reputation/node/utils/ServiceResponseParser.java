@@ -0,0 +1,108 @@
+package reputation.node.utils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Extrai o campo 'value' das respostas dos nós provedores de serviço, lendo o
+ * JSON diretamente do corpo da resposta HTTP, sem criar a String do corpo nem
+ * a árvore do JSON. Assim como a leitura por linhas usada anteriormente, o
+ * corpo pode conter mais de um valor JSON, e somente o último é considerado,
+ * exceto caso algum deles seja 'null', o que indica que o nó não possui o dado
+ * do sensor.
+ *
+ * @author Allan Capistrano
+ * @version 1.0.0
+ */
+public final class ServiceResponseParser {
+
+  private static final String VALUE_FIELD = "value";
+
+  private ServiceResponseParser() {}
+
+  /**
+   * Obtém o valor do sensor de uma resposta.
+   *
+   * @param in InputStream - Corpo da resposta, em UTF-8.
+   * @return String - Ou null, caso o corpo seja vazio, possua um valor
+   * 'null', ou o último valor não seja um objeto com o campo 'value' com um
+   * valor primitivo.
+   * @throws IOException - Caso a leitura falhe ou o JSON seja inválido.
+   */
+  public static String readValue(InputStream in) throws IOException {
+    JsonReader reader = new JsonReader(
+      new InputStreamReader(in, StandardCharsets.UTF_8)
+    );
+    String value = null;
+
+    reader.setLenient(true);
+
+    try {
+      try {
+        reader.peek();
+      } catch (EOFException eofe) {
+        /* Corpo vazio: o nó não possui o dado do sensor. */
+        return null;
+      }
+
+      do {
+        switch (reader.peek()) {
+          case NULL:
+            /* O nó não possui o dado do sensor. */
+            return null;
+          case BEGIN_OBJECT:
+            value = readObjectValue(reader);
+            break;
+          default:
+            reader.skipValue();
+            value = null;
+            break;
+        }
+      } while (reader.peek() != JsonToken.END_DOCUMENT);
+    } catch (IllegalStateException ise) {
+      throw new IOException("Invalid service response: " + ise.getMessage());
+    }
+
+    return value;
+  }
+
+  /**
+   * Lê um objeto inteiro, retornando o seu campo 'value'.
+   */
+  private static String readObjectValue(JsonReader reader) throws IOException {
+    String value = null;
+
+    reader.beginObject();
+
+    while (reader.hasNext()) {
+      if (!reader.nextName().equals(VALUE_FIELD)) {
+        reader.skipValue();
+
+        continue;
+      }
+
+      switch (reader.peek()) {
+        case STRING:
+        case NUMBER:
+          value = reader.nextString();
+          break;
+        case BOOLEAN:
+          value = String.valueOf(reader.nextBoolean());
+          break;
+        default:
+          reader.skipValue();
+          value = null;
+          break;
+      }
+    }
+
+    reader.endObject();
+
+    return value;
+  }
+}
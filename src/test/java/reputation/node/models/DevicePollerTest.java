@@ -0,0 +1,85 @@
+package reputation.node.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static reputation.node.models.Devices.device;
+
+import dlt.client.tangle.hornet.model.DeviceSensorId;
+import java.util.Arrays;
+import org.junit.Test;
+import reputation.node.enums.PollingPolicy;
+
+public class DevicePollerTest {
+
+  private final DevicePoller poller = new DevicePoller(PollingPolicy.STALENESS);
+  private final DeviceRequestTable deviceRequests = new DeviceRequestTable();
+
+  @Test
+  public void stalenessChoosesDeviceEvaluatedLongestAgo() throws Exception {
+    this.poller.setDevices(
+        Arrays.asList(device("d1", "s1"), device("d2", "s2"), device("d3", "s3"))
+      );
+
+    this.evaluate("d3");
+    this.evaluate("d1");
+
+    assertEquals("d2/s2", id(this.poller.next(this.deviceRequests)));
+
+    this.evaluate("d2");
+
+    assertEquals("d3/s3", id(this.poller.next(this.deviceRequests)));
+  }
+
+  @Test
+  public void stalenessDoesNotCountRequestsAsEvaluations() {
+    this.poller.setDevices(Arrays.asList(device("d1", "s1", "s2")));
+
+    assertEquals("d1/s1", id(this.poller.next(this.deviceRequests)));
+    assertEquals("d1/s2", id(this.poller.next(this.deviceRequests)));
+    assertEquals("d1/s1", id(this.poller.next(this.deviceRequests)));
+  }
+
+  @Test
+  public void stalenessSkipsDevicesWithPendingRequests() {
+    this.poller.setDevices(Arrays.asList(device("d1", "s1", "s2")));
+    this.deviceRequests.register("d1", "s1");
+
+    assertNull(this.poller.next(this.deviceRequests));
+  }
+
+  @Test
+  public void discardsEvaluationsOfRemovedDevices() throws Exception {
+    this.poller.setDevices(Arrays.asList(device("d1", "s1"), device("d2", "s2")));
+
+    this.evaluate("d2");
+    this.evaluate("d1");
+
+    this.poller.setDevices(Arrays.asList(device("d2", "s2")));
+    this.poller.setDevices(Arrays.asList(device("d1", "s1"), device("d2", "s2")));
+
+    assertEquals("d1/s1", id(this.poller.next(this.deviceRequests)));
+  }
+
+  @Test
+  public void ignoresEvaluationsOfUnknownDevices() {
+    this.poller.markEvaluated("d1");
+    this.poller.setDevices(Arrays.asList(device("d2", "s2"), device("d1", "s1")));
+    this.poller.markEvaluated("d2");
+
+    assertEquals("d1/s1", id(this.poller.next(this.deviceRequests)));
+  }
+
+  /**
+   * Avalia um dispositivo, garantindo que avaliações seguidas tenham momentos
+   * distintos.
+   */
+  private void evaluate(String deviceId) throws InterruptedException {
+    this.poller.markEvaluated(deviceId);
+    Thread.sleep(5);
+  }
+
+
+  private static String id(DeviceSensorId deviceSensorId) {
+    return deviceSensorId.getDeviceId() + "/" + deviceSensorId.getSensorId();
+  }
+}
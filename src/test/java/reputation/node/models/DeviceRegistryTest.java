@@ -0,0 +1,111 @@
+package reputation.node.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static reputation.node.models.Devices.device;
+
+import br.ufba.dcc.wiser.soft_iot.entities.Device;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class DeviceRegistryTest {
+
+  private final DeviceRegistry registry = new DeviceRegistry();
+
+  @Test
+  public void reportsAddedDevices() {
+    DeviceRegistry.Changes changes = this.registry.update(
+      Arrays.asList(device("d1", "s1"), device("d2", "s2"))
+    );
+
+    assertEquals(Arrays.asList("d1", "d2"), changes.getAddedDeviceIds());
+    assertTrue(changes.getRemovedDeviceIds().isEmpty());
+    assertFalse(changes.isSensorsChanged());
+    assertEquals(2, this.registry.size());
+  }
+
+  @Test
+  public void reportsRemovedAndChangedDevices() {
+    this.registry.update(
+        Arrays.asList(device("d1", "s1"), device("d2", "s2"), device("d3", "s3"))
+      );
+
+    DeviceRegistry.Changes changes = this.registry.update(
+      Arrays.asList(device("d2", "s2", "s4"), device("d3", "s3"))
+    );
+
+    assertTrue(changes.getAddedDevices().isEmpty());
+    assertEquals(Arrays.asList("d1"), changes.getRemovedDeviceIds());
+    assertEquals(Arrays.asList("d2"), ids(changes.getChangedDevices()));
+    assertEquals(Arrays.asList("d2", "d3"), ids(this.registry.getDevices()));
+  }
+
+  @Test
+  public void reportsChangedSensorTypes() {
+    this.registry.update(Arrays.asList(device("d1", "s1:temperature")));
+
+    DeviceRegistry.Changes changes = this.registry.update(
+      Arrays.asList(device("d1", "s1:humidity"))
+    );
+
+    assertEquals(Arrays.asList("d1"), ids(changes.getChangedDevices()));
+    assertTrue(
+      this.registry.update(Arrays.asList(device("d1", "s1:humidity"))).isEmpty()
+    );
+  }
+
+  @Test
+  public void keepsListWhenNothingChanged() {
+    this.registry.update(Arrays.asList(device("d1", "s1")));
+
+    List<Device> devices = this.registry.getDevices();
+    DeviceRegistry.Changes changes = this.registry.update(
+      Arrays.asList(device("d1", "s1"))
+    );
+
+    assertTrue(changes.isEmpty());
+    assertSame(devices, this.registry.getDevices());
+  }
+
+  @Test
+  public void ignoresRepeatedDevices() {
+    DeviceRegistry.Changes changes = this.registry.update(
+      Arrays.asList(device("d1", "s1"), device("d1", "s1"))
+    );
+
+    assertEquals(Arrays.asList("d1"), changes.getAddedDeviceIds());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void publishesUnmodifiableList() {
+    this.registry.update(Arrays.asList(device("d1", "s1")));
+
+    this.registry.getDevices().clear();
+  }
+
+  @Test
+  public void clearReturnsPreviousDevices() {
+    this.registry.update(Arrays.asList(device("d1", "s1")));
+
+    assertEquals(Arrays.asList("d1"), ids(this.registry.clear()));
+    assertEquals(0, this.registry.size());
+    assertEquals(
+      Arrays.asList("d1"),
+      this.registry.update(Arrays.asList(device("d1", "s1"))).getAddedDeviceIds()
+    );
+    assertEquals(
+      Arrays.asList("d1"),
+      this.registry.update(Collections.emptyList()).getRemovedDeviceIds()
+    );
+  }
+
+
+  private static List<String> ids(List<Device> devices) {
+    return devices.stream().map(Device::getId).collect(Collectors.toList());
+  }
+}
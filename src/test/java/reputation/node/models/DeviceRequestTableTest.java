@@ -0,0 +1,151 @@
+package reputation.node.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class DeviceRequestTableTest {
+
+  private final DeviceRequestTable table = new DeviceRequestTable();
+
+  @Test
+  public void rejectsSecondRequestToSameSensor() {
+    assertNotNull(this.table.register("d1", "s1"));
+    assertNull(this.table.register("d1", "s1"));
+    assertNotNull(this.table.register("d1", "s2"));
+
+    assertEquals(2, this.table.size());
+    assertTrue(this.table.contains("d1", "s1"));
+    assertFalse(this.table.contains("d2", "s1"));
+  }
+
+  @Test
+  public void completesRequestOfSensorInResponse() {
+    this.table.register("d1", "s1");
+
+    DeviceRequest request = this.table.register("d1", "s2");
+
+    assertSame(request, this.table.complete("d1", Arrays.asList("s2")));
+    assertTrue(request.getRoundTripTime() >= 0);
+    assertTrue(this.table.contains("d1", "s1"));
+    assertFalse(this.table.contains("d1", "s2"));
+    assertEquals(1, this.table.size());
+    assertEquals(1, this.table.getAmountResponses());
+  }
+
+  @Test
+  public void completesOldestRequestWhenSensorIsUnknown() {
+    DeviceRequest oldest = this.table.register("d1", "s1");
+
+    this.table.register("d1", "s2");
+
+    assertSame(oldest, this.table.complete("d1", Arrays.asList("s3")));
+    assertTrue(this.table.contains("d1", "s2"));
+  }
+
+  @Test
+  public void ignoresResponseWithoutPendingRequest() {
+    assertNull(this.table.complete("d1", Arrays.asList("s1")));
+
+    this.table.register("d1", "s1");
+    this.table.complete("d1", Collections.emptyList());
+
+    assertNull(this.table.complete("d1", Collections.emptyList()));
+    assertEquals(0, this.table.size());
+    assertEquals(1, this.table.getAmountResponses());
+  }
+
+  @Test
+  public void expiresOnlyPendingRequests() {
+    DeviceRequest answered = this.table.register("d1", "s1");
+    DeviceRequest unanswered = this.table.register("d1", "s2");
+
+    this.table.complete("d1", Arrays.asList("s1"));
+
+    assertFalse(this.table.expire(answered));
+    assertTrue(this.table.expire(unanswered));
+    assertFalse(this.table.expire(unanswered));
+    assertEquals(0, this.table.size());
+    assertEquals(1, this.table.getAmountTimeouts());
+    assertFalse(this.table.containsDevice("d1"));
+  }
+
+  @Test
+  public void expireDoesNotRemoveNewerRequestToSameSensor() {
+    DeviceRequest old = this.table.register("d1", "s1");
+
+    this.table.complete("d1", Arrays.asList("s1"));
+
+    DeviceRequest current = this.table.register("d1", "s1");
+
+    assertFalse(this.table.expire(old));
+    assertTrue(this.table.contains("d1", "s1"));
+    assertTrue(this.table.expire(current));
+  }
+
+  @Test
+  public void containsDeviceWhileAnyRequestIsPending() {
+    assertFalse(this.table.containsDevice("d1"));
+
+    this.table.register("d1", "s1");
+    this.table.register("d1", "s2");
+    this.table.complete("d1", Arrays.asList("s1"));
+
+    assertTrue(this.table.containsDevice("d1"));
+
+    this.table.complete("d1", Arrays.asList("s2"));
+
+    assertFalse(this.table.containsDevice("d1"));
+  }
+
+  @Test
+  public void keepsCountersConsistentUnderConcurrency() throws Exception {
+    int threads = 8;
+    int requestsPerThread = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+
+    for (int t = 0; t < threads; t++) {
+      String sensorId = "s" + t;
+
+      executor.execute(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException ie) {
+          return;
+        }
+
+        for (int i = 0; i < requestsPerThread; i++) {
+          DeviceRequest request = this.table.register("d1", sensorId);
+
+          if (i % 2 == 0) {
+            this.table.complete("d1", Arrays.asList(sensorId));
+          } else {
+            this.table.expire(request);
+          }
+        }
+      });
+    }
+
+    start.countDown();
+    executor.shutdown();
+
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    assertEquals(0, this.table.size());
+    assertEquals(
+      threads * requestsPerThread,
+      this.table.getAmountResponses() + this.table.getAmountTimeouts()
+    );
+  }
+}
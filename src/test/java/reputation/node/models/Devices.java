@@ -0,0 +1,40 @@
+package reputation.node.models;
+
+import br.ufba.dcc.wiser.soft_iot.entities.Device;
+import br.ufba.dcc.wiser.soft_iot.entities.Sensor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dispositivos usados nos testes.
+ */
+final class Devices {
+
+  private Devices() {}
+
+  /**
+   * Cria um dispositivo com os sensores no formato 'id' ou 'id:tipo'.
+   */
+  static Device device(String id, String... sensors) {
+    Device device = new Device();
+    List<Sensor> sensorList = new ArrayList<>();
+
+    for (String s : sensors) {
+      Sensor sensor = new Sensor();
+      String[] idAndType = s.split(":", 2);
+
+      sensor.setId(idAndType[0]);
+
+      if (idAndType.length > 1) {
+        sensor.setType(idAndType[1]);
+      }
+
+      sensorList.add(sensor);
+    }
+
+    device.setId(id);
+    device.setSensors(sensorList);
+
+    return device;
+  }
+}
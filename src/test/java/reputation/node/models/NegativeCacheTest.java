@@ -0,0 +1,99 @@
+package reputation.node.models;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class NegativeCacheTest {
+
+  @Test
+  public void keepsNothingWhenDisabled() {
+    NegativeCache cache = new NegativeCache(0, 100);
+
+    cache.put("n1", "d1", "s1");
+
+    assertFalse(cache.isEnabled());
+    assertFalse(cache.mightContain("n1", "d1", "s1"));
+  }
+
+  @Test
+  public void containsRegisteredCombinations() {
+    NegativeCache cache = new NegativeCache(60000, 100);
+
+    cache.put("n1", "d1", "s1");
+
+    assertTrue(cache.mightContain("n1", "d1", "s1"));
+    assertFalse(cache.mightContain("n2", "d1", "s1"));
+    assertFalse(cache.mightContain("n1", "d1", "s2"));
+  }
+
+  @Test
+  public void separatesFieldsOfTheKey() {
+    NegativeCache cache = new NegativeCache(60000, 100);
+
+    cache.put("n1", "d1", "s1");
+
+    assertFalse(cache.mightContain("n1d1", "", "s1"));
+    assertFalse(cache.mightContain("n1", "d1s1", ""));
+  }
+
+  @Test
+  public void keepsCombinationsForTtlThenDiscardsThem() throws Exception {
+    long ttl = 400;
+    NegativeCache cache = new NegativeCache(ttl, 100);
+
+    cache.put("n1", "d1", "s1");
+
+    /* Mantida por no mínimo 'ttl'. */
+    Thread.sleep(ttl / 2);
+    assertTrue(cache.mightContain("n1", "d1", "s1"));
+
+    /* Descartada após no máximo 1,5 * 'ttl'. */
+    Thread.sleep(ttl * 3 / 2);
+    assertFalse(cache.mightContain("n1", "d1", "s1"));
+  }
+
+  @Test
+  public void discardsAllCombinationsAfterLongIdlePeriod() throws Exception {
+    long ttl = 100;
+    NegativeCache cache = new NegativeCache(ttl, 100);
+
+    cache.put("n1", "d1", "s1");
+    Thread.sleep(ttl * 5);
+
+    assertFalse(cache.mightContain("n1", "d1", "s1"));
+
+    cache.put("n1", "d1", "s2");
+
+    assertTrue(cache.mightContain("n1", "d1", "s2"));
+  }
+
+  @Test
+  public void falsePositiveRateStaysNearOnePercent() {
+    int capacity = 1000;
+    int probes = 100000;
+    NegativeCache cache = new NegativeCache(60000, capacity);
+
+    for (int i = 0; i < capacity; i++) {
+      cache.put("node", "device" + i, "sensor");
+    }
+
+    for (int i = 0; i < capacity; i++) {
+      assertTrue(cache.mightContain("node", "device" + i, "sensor"));
+    }
+
+    int falsePositives = 0;
+
+    for (int i = 0; i < probes; i++) {
+      if (cache.mightContain("node", "other" + i, "sensor")) {
+        falsePositives++;
+      }
+    }
+
+    assertTrue(
+      "false positive rate: " + (double) falsePositives / probes,
+      (double) falsePositives / probes < 0.02
+    );
+  }
+}
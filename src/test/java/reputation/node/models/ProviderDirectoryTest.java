@@ -0,0 +1,76 @@
+package reputation.node.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import dlt.client.tangle.hornet.model.transactions.reputation.ReputationService;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import org.junit.Test;
+import reputation.node.enums.NodeServiceType;
+
+public class ProviderDirectoryTest {
+
+  @Test
+  public void usesTtlOfEachServiceType() throws Exception {
+    Map<NodeServiceType, Long> ttlByType = new EnumMap<>(NodeServiceType.class);
+
+    ttlByType.put(NodeServiceType.THERMOMETER, 20L);
+    ttlByType.put(NodeServiceType.PULSE_OXYMETER, 0L);
+
+    ProviderDirectory providerDirectory = new ProviderDirectory(
+      60000,
+      ttlByType,
+      0.8
+    );
+
+    assertTrue(providerDirectory.isEnabled(NodeServiceType.THERMOMETER));
+    assertTrue(providerDirectory.isEnabled(NodeServiceType.HUMIDITY_SENSOR));
+    assertFalse(providerDirectory.isEnabled(NodeServiceType.PULSE_OXYMETER));
+
+    providerDirectory.put(NodeServiceType.THERMOMETER, response("node1"));
+    providerDirectory.put(NodeServiceType.HUMIDITY_SENSOR, response("node1"));
+    providerDirectory.put(NodeServiceType.PULSE_OXYMETER, response("node1"));
+
+    Thread.sleep(50);
+
+    assertEquals(
+      0,
+      providerDirectory.getProviders(NodeServiceType.THERMOMETER).size()
+    );
+    assertEquals(
+      1,
+      providerDirectory.getProviders(NodeServiceType.HUMIDITY_SENSOR).size()
+    );
+    assertEquals(
+      0,
+      providerDirectory.getProviders(NodeServiceType.PULSE_OXYMETER).size()
+    );
+  }
+
+  @Test
+  public void isDisabledWithoutTtl() {
+    ProviderDirectory providerDirectory = new ProviderDirectory(0, 0.8);
+
+    providerDirectory.put(NodeServiceType.THERMOMETER, response("node1"));
+
+    assertFalse(providerDirectory.isEnabled(NodeServiceType.THERMOMETER));
+    assertTrue(
+      providerDirectory.getProviders(NodeServiceType.THERMOMETER).isEmpty()
+    );
+  }
+
+  private static Transaction response(String source) {
+    return new ReputationService(
+      source,
+      "127.0.0.1",
+      "node0",
+      Collections.emptyList(),
+      "group1",
+      NodeServiceType.THERMOMETER.getTransactionType()
+    );
+  }
+}
@@ -0,0 +1,113 @@
+package reputation.node.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static reputation.node.models.Devices.device;
+
+import dlt.client.tangle.hornet.model.DeviceSensorId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class ServiceCatalogTest {
+
+  private final ServiceCatalog catalog = new ServiceCatalog();
+
+  @Test
+  public void groupsSensorsByServiceType() {
+    this.catalog.update(
+        Collections.emptyList(),
+        Arrays.asList(
+          device("d1", "s1:temperature", "s2:humidity"),
+          device("d2", "s3:temperature")
+        )
+      );
+
+    assertEquals(
+      Arrays.asList("d1/s1", "d2/s3"),
+      ids(this.catalog.get("temperature"))
+    );
+    assertEquals(Arrays.asList("d1/s2"), ids(this.catalog.get("humidity")));
+    assertTrue(this.catalog.get("pressure").isEmpty());
+  }
+
+  @Test
+  public void removesSensorsOfRemovedDevices() {
+    this.catalog.update(
+        Collections.emptyList(),
+        Arrays.asList(
+          device("d1", "s1:temperature", "s2:humidity"),
+          device("d2", "s3:temperature")
+        )
+      );
+    this.catalog.update(Arrays.asList("d1"), Collections.emptyList());
+
+    assertEquals(Arrays.asList("d2/s3"), ids(this.catalog.get("temperature")));
+    assertTrue(this.catalog.get("humidity").isEmpty());
+  }
+
+  @Test
+  public void replacesSensorsOfChangedDevices() {
+    this.catalog.update(
+        Collections.emptyList(),
+        Arrays.asList(device("d1", "s1:temperature"))
+      );
+    this.catalog.update(
+        Collections.emptyList(),
+        Arrays.asList(device("d1", "s2:humidity"))
+      );
+
+    assertTrue(this.catalog.get("temperature").isEmpty());
+    assertEquals(Arrays.asList("d1/s2"), ids(this.catalog.get("humidity")));
+  }
+
+  @Test
+  public void keepsListsOfUnchangedServiceTypes() {
+    this.catalog.update(
+        Collections.emptyList(),
+        Arrays.asList(device("d1", "s1:temperature"), device("d2", "s2:humidity"))
+      );
+
+    List<DeviceSensorId> temperature = this.catalog.get("temperature");
+
+    this.catalog.update(Arrays.asList("d2"), Collections.emptyList());
+
+    assertSame(temperature, this.catalog.get("temperature"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void publishesUnmodifiableLists() {
+    this.catalog.update(
+        Collections.emptyList(),
+        Arrays.asList(device("d1", "s1:temperature"))
+      );
+
+    this.catalog.get("temperature").clear();
+  }
+
+  @Test
+  public void clearRemovesAllDevices() {
+    this.catalog.update(
+        Collections.emptyList(),
+        Arrays.asList(device("d1", "s1:temperature"))
+      );
+    this.catalog.clear();
+    this.catalog.update(
+        Collections.emptyList(),
+        Arrays.asList(device("d1", "s1:temperature"))
+      );
+
+    assertEquals(Arrays.asList("d1/s1"), ids(this.catalog.get("temperature")));
+  }
+
+
+  private static List<String> ids(List<DeviceSensorId> deviceSensorIdList) {
+    return deviceSensorIdList
+      .stream()
+      .map(ds -> ds.getDeviceId() + "/" + ds.getSensorId())
+      .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,115 @@
+package reputation.node.reputation.credibility;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import dlt.client.tangle.hornet.enums.TransactionType;
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import dlt.client.tangle.hornet.model.transactions.reputation.Credibility;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OwnCredibilityTest {
+
+  private static final float DELTA = (float) 0.0001;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path file;
+
+  @Before
+  public void setUp() {
+    this.file = this.folder.getRoot().toPath().resolve("credibility.properties");
+  }
+
+  @Test
+  public void usesDefaultWithoutCredibilities() {
+    OwnCredibility ownCredibility = new OwnCredibility(this.file);
+
+    ownCredibility.load(null);
+
+    assertEquals(0.5, ownCredibility.get(), DELTA);
+  }
+
+  @Test
+  public void ignoresFileWhenTangleHasNoCredibility() {
+    new OwnCredibility(this.file).set((float) 0.9);
+
+    OwnCredibility ownCredibility = new OwnCredibility(this.file);
+
+    ownCredibility.load(Collections.emptyList());
+
+    assertEquals(0.5, ownCredibility.get(), DELTA);
+  }
+
+  @Test
+  public void usesFileWhenNewerThanTangle() throws Exception {
+    Transaction credibility = credibility((float) 0.3);
+
+    Thread.sleep(5);
+    new OwnCredibility(this.file).set((float) 0.9);
+
+    OwnCredibility ownCredibility = new OwnCredibility(this.file);
+
+    ownCredibility.load(Arrays.asList(credibility));
+
+    assertEquals(0.9, ownCredibility.get(), DELTA);
+  }
+
+  @Test
+  public void usesTangleWhenNewerThanFile() throws Exception {
+    new OwnCredibility(this.file).set((float) 0.9);
+    Thread.sleep(5);
+
+    OwnCredibility ownCredibility = new OwnCredibility(this.file);
+
+    ownCredibility.load(
+      Arrays.asList(credibility((float) 0.3), credibility((float) 0.7))
+    );
+
+    assertEquals(0.7, ownCredibility.get(), DELTA);
+  }
+
+  @Test
+  public void ignoresCorruptedFile() throws Exception {
+    Files.write(this.file, "value=abc".getBytes());
+
+    OwnCredibility ownCredibility = new OwnCredibility(this.file);
+
+    ownCredibility.load(Arrays.asList(credibility((float) 0.3)));
+
+    assertEquals(0.3, ownCredibility.get(), DELTA);
+  }
+
+  @Test
+  public void createsDirectoryOfFile() {
+    Path nestedFile = this.file.resolveSibling("data").resolve(
+      "credibility.properties"
+    );
+
+    new OwnCredibility(nestedFile).set((float) 0.9);
+
+    assertTrue(Files.exists(nestedFile));
+  }
+
+  private static Transaction credibility(float value) throws Exception {
+    Transaction transaction = new Credibility(
+      "node",
+      "group",
+      TransactionType.REP_CREDIBILITY,
+      value
+    );
+
+    /* Garantindo que transações seguidas tenham momentos distintos. */
+    Thread.sleep(2);
+
+    return transaction;
+  }
+}
@@ -0,0 +1,177 @@
+package reputation.node.reputation.kmeans;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class KMeans1DTest {
+
+  private final KMeans1D kMeans = new KMeans1D();
+
+  @Test
+  public void returnsHighestClusterOfFixedInputs() {
+    assertEquals(
+      values(0.8f, 0.9f),
+      this.kMeans.execute(values(0.1f, 0.2f, 0.8f, 0.9f))
+    );
+    assertEquals(
+      values(0.9f, 0.95f),
+      this.kMeans.execute(values(0.2f, 0.5f, 0.52f, 0.55f, 0.9f, 0.95f))
+    );
+    assertEquals(
+      values(0.45f, 0.5f, 0.55f, 0.6f),
+      this.kMeans.execute(values(0.45f, 0.5f, 0.55f, 0.6f, 0.1f))
+    );
+    assertEquals(
+      values(0.9f, 0.85f, 0.8f),
+      this.kMeans.execute(values(0.9f, 0.3f, 0.85f, 0.35f, 0.8f, 0.4f, 0.05f))
+    );
+  }
+
+  @Test
+  public void keepsDuplicatedValuesInTheirCluster() {
+    assertEquals(
+      values(0.9f, 0.9f, 0.9f),
+      this.kMeans.execute(values(0.9f, 0.1f, 0.9f, 0.1f, 0.9f))
+    );
+  }
+
+  @Test
+  public void returnsAllValuesWhenTheyCannotBeSplit() {
+    assertEquals(Collections.emptyList(), this.kMeans.execute(values()));
+    assertEquals(values(0.3f), this.kMeans.execute(values(0.3f)));
+    assertEquals(
+      values(0.5f, 0.5f, 0.5f),
+      this.kMeans.execute(values(0.5f, 0.5f, 0.5f))
+    );
+  }
+
+  @Test
+  public void matchesLloydKMeansOnRandomInputs() {
+    Random random = new Random(42);
+
+    for (int round = 0; round < 500; round++) {
+      List<Float> values = new ArrayList<>();
+      int amount = 2 + random.nextInt(12);
+
+      for (int i = 0; i < amount; i++) {
+        values.add(random.nextFloat());
+      }
+
+      assertEquals(
+        values.toString(),
+        lloydHighestCluster(values),
+        this.kMeans.execute(values)
+      );
+    }
+  }
+
+  @Test
+  public void lowerBoundSeparatesHighestCluster() {
+    float[] credibilities = { 0.9f, 0.3f, 0.85f, 0.35f, 0.8f, 0.4f, 0.05f };
+
+    assertEquals(
+      0.8f,
+      this.kMeans.highestClusterLowerBound(
+          credibilities.clone(),
+          credibilities.length
+        ),
+      0
+    );
+  }
+
+  @Test
+  public void marksHighestClusterWithoutChangingInput() {
+    float[] credibilities = { 0.9f, 0.3f, 0.85f, 0.35f, 0.8f, 0.4f, 0.05f };
+
+    assertArrayEquals(
+      new boolean[] { true, false, true, false, true, false, false },
+      this.kMeans.highestCluster(credibilities)
+    );
+    assertArrayEquals(
+      new float[] { 0.9f, 0.3f, 0.85f, 0.35f, 0.8f, 0.4f, 0.05f },
+      credibilities,
+      0
+    );
+  }
+
+  private static List<Float> values(Float... values) {
+    return Arrays.asList(values);
+  }
+
+  /**
+   * Algoritmo de Lloyd com dois grupos, como o usado pelo bundle em Python,
+   * partindo de todos os pares de centróides iniciais possíveis e mantendo o
+   * agrupamento com a menor soma dos quadrados das distâncias.
+   */
+  private static List<Float> lloydHighestCluster(List<Float> values) {
+    double lowestCost = Double.POSITIVE_INFINITY;
+    List<Float> highestCluster = new ArrayList<>(values);
+
+    for (int i = 0; i < values.size(); i++) {
+      for (int j = 0; j < values.size(); j++) {
+        if (values.get(i) >= values.get(j)) {
+          continue;
+        }
+
+        double[] centroids = { values.get(i), values.get(j) };
+        boolean[] inHighest = new boolean[values.size()];
+        boolean changed = true;
+
+        while (changed) {
+          changed = false;
+
+          for (int k = 0; k < values.size(); k++) {
+            boolean highest =
+              Math.abs(values.get(k) - centroids[1]) <
+              Math.abs(values.get(k) - centroids[0]);
+
+            changed |= highest != inHighest[k];
+            inHighest[k] = highest;
+          }
+
+          double[] sums = new double[2];
+          int[] counts = new int[2];
+
+          for (int k = 0; k < values.size(); k++) {
+            sums[inHighest[k] ? 1 : 0] += values.get(k);
+            counts[inHighest[k] ? 1 : 0]++;
+          }
+
+          for (int c = 0; c < 2; c++) {
+            if (counts[c] > 0) {
+              centroids[c] = sums[c] / counts[c];
+            }
+          }
+        }
+
+        double cost = 0;
+
+        for (int k = 0; k < values.size(); k++) {
+          double distance = values.get(k) - centroids[inHighest[k] ? 1 : 0];
+
+          cost += distance * distance;
+        }
+
+        if (cost < lowestCost - 1e-9) {
+          lowestCost = cost;
+          highestCluster = new ArrayList<>();
+
+          for (int k = 0; k < values.size(); k++) {
+            if (inHighest[k]) {
+              highestCluster.add(values.get(k));
+            }
+          }
+        }
+      }
+    }
+
+    return highestCluster;
+  }
+}
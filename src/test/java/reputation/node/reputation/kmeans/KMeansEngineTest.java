@@ -0,0 +1,58 @@
+package reputation.node.reputation.kmeans;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class KMeansEngineTest {
+
+  private static final List<Float> CREDIBILITIES = Arrays.asList(
+    0.1f,
+    0.2f,
+    0.8f,
+    0.9f
+  );
+
+  private final KMeansEngine engine = new KMeansEngine();
+
+  @Test
+  public void usesNativeKMeansWhileServiceIsUnavailable() {
+    assertEquals(Arrays.asList(0.8f, 0.9f), this.engine.execute(CREDIBILITIES));
+  }
+
+  @Test
+  public void usesServiceWhenAvailable() {
+    this.engine.setKMeansService(values -> Collections.singletonList(0.9f));
+
+    assertEquals(
+      Collections.singletonList(0.9f),
+      this.engine.execute(CREDIBILITIES)
+    );
+
+    this.engine.setKMeansService(null);
+
+    assertEquals(Arrays.asList(0.8f, 0.9f), this.engine.execute(CREDIBILITIES));
+  }
+
+  @Test
+  public void prefersNativeKMeansWhenConfigured() {
+    this.engine.setKMeansService(values -> Collections.singletonList(0.9f));
+    this.engine.setUseNativeKMeans(true);
+
+    assertEquals(Arrays.asList(0.8f, 0.9f), this.engine.execute(CREDIBILITIES));
+  }
+
+  @Test
+  public void marksCredibilitiesReturnedByService() {
+    this.engine.setKMeansService(values -> Collections.singletonList(0.9f));
+
+    assertArrayEquals(
+      new boolean[] { false, false, false, true },
+      this.engine.highestCluster(new float[] { 0.1f, 0.2f, 0.8f, 0.9f })
+    );
+  }
+}
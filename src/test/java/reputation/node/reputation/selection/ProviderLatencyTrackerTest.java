@@ -0,0 +1,87 @@
+package reputation.node.reputation.selection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class ProviderLatencyTrackerTest {
+
+  private static final double DELTA = 0.0001;
+
+  private final ProviderLatencyTracker tracker = new ProviderLatencyTracker();
+
+  @Test
+  public void returnsZeroForUnknownNode() {
+    assertEquals(0, this.tracker.getLatency("node", 0.95), DELTA);
+    assertEquals(0, this.tracker.getEwma("node"), DELTA);
+  }
+
+  @Test
+  public void usesEwmaWithFewSamples() {
+    this.tracker.record("node", 100);
+    this.tracker.record("node", 200);
+
+    /* 0.2 * 200 + 0.8 * 100 */
+    assertEquals(120, this.tracker.getEwma("node"), DELTA);
+    assertEquals(120, this.tracker.getLatency("node", 0.95), DELTA);
+  }
+
+  @Test
+  public void ignoresNegativeLatencies() {
+    this.tracker.record("node", -10);
+
+    assertEquals(0, this.tracker.getEwma("node"), DELTA);
+  }
+
+  @Test
+  public void estimatesPercentilesWithinRelativeError() {
+    Random random = new Random(42);
+
+    for (int i = 0; i < 1000; i++) {
+      /* Tempos uniformes entre 1 e 1000 ms. */
+      this.tracker.record("node", 1 + random.nextInt(1000));
+    }
+
+    assertWithinRelativeError(500, this.tracker.getLatency("node", 0.5));
+    assertWithinRelativeError(950, this.tracker.getLatency("node", 0.95));
+  }
+
+  @Test
+  public void keepsNodesSeparate() {
+    for (int i = 0; i < 10; i++) {
+      this.tracker.record("fast", 10);
+      this.tracker.record("slow", 1000);
+    }
+
+    assertTrue(
+      this.tracker.getLatency("fast", 0.95) <
+      this.tracker.getLatency("slow", 0.95)
+    );
+  }
+
+  @Test
+  public void olderLatenciesLoseWeight() {
+    for (int i = 0; i < 1000; i++) {
+      this.tracker.record("node", 1000);
+    }
+
+    for (int i = 0; i < 3000; i++) {
+      this.tracker.record("node", 10);
+    }
+
+    assertWithinRelativeError(10, this.tracker.getLatency("node", 0.95));
+  }
+
+  /**
+   * Verifica o erro relativo máximo do histograma, de 25%, com uma margem
+   * para a variação da amostra.
+   */
+  private static void assertWithinRelativeError(double expected, double actual) {
+    assertTrue(
+      "expected ~" + expected + " but was " + actual,
+      Math.abs(actual - expected) <= 0.3 * expected
+    );
+  }
+}
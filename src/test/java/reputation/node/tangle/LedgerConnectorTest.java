@@ -0,0 +1,235 @@
+package reputation.node.tangle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import dlt.client.tangle.hornet.model.transactions.Transaction;
+import dlt.client.tangle.hornet.services.ILedgerReader;
+import dlt.client.tangle.hornet.services.ILedgerSubscriber;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LedgerConnectorTest {
+
+  private static final long TTL = 1;
+
+  private FakeLedgerReader ledgerReader;
+  private LedgerConnector ledgerConnector;
+
+  @Before
+  public void setUp() {
+    this.ledgerReader = new FakeLedgerReader();
+    this.ledgerConnector = new LedgerConnector();
+    this.ledgerConnector.setLedgerReader(this.ledgerReader);
+    this.ledgerConnector.setReadCacheSize(1);
+    this.ledgerConnector.setReadCacheTtl(TTL);
+    this.ledgerConnector.start();
+  }
+
+  @After
+  public void tearDown() {
+    this.ledgerConnector.stop();
+  }
+
+  @Test
+  public void countsHitsAndMisses() {
+    this.ledgerReader.indexes.add("cred_a");
+
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+    this.ledgerConnector.getTransactionsByIndex("cred_a", true);
+
+    assertEquals(2, this.ledgerReader.reads.get());
+    assertEquals(1, this.ledgerConnector.getReadCacheHits());
+    assertEquals(2, this.ledgerConnector.getReadCacheMisses());
+    assertEquals(0, this.ledgerConnector.getCoalescedReads());
+  }
+
+  @Test
+  public void readsAgainAfterTtlExpires() throws Exception {
+    this.ledgerReader.indexes.add("cred_a");
+
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+
+    assertEquals(1, this.ledgerReader.reads.get());
+
+    Thread.sleep(TimeUnit.SECONDS.toMillis(TTL) + 100);
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+
+    assertEquals(2, this.ledgerReader.reads.get());
+    assertEquals(2, this.ledgerConnector.getReadCacheMisses());
+  }
+
+  @Test
+  public void readsAgainAfterPublication() {
+    this.ledgerReader.indexes.add("cred_a");
+
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+    this.ledgerReader.publish("cred_a");
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+
+    assertEquals(2, this.ledgerReader.reads.get());
+    assertEquals(0, this.ledgerConnector.getReadCacheHits());
+  }
+
+  @Test
+  public void coalescesConcurrentReadsOfSameIndex() throws Exception {
+    this.ledgerReader.indexes.add("cred_a");
+    this.ledgerReader.readStarted = new CountDownLatch(1);
+    this.ledgerReader.releaseRead = new CountDownLatch(1);
+
+    CompletableFuture<List<Transaction>> first = CompletableFuture.supplyAsync(
+      () -> this.ledgerConnector.getTransactionsByIndex("cred_a", false)
+    );
+
+    assertTrue(this.ledgerReader.readStarted.await(5, TimeUnit.SECONDS));
+
+    CompletableFuture<List<Transaction>> second = CompletableFuture.supplyAsync(
+      () -> this.ledgerConnector.getTransactionsByIndex("cred_a", false)
+    );
+
+    /* Aguardando a segunda leitura encontrar a primeira em andamento. */
+    long deadline = System.currentTimeMillis() + 5000;
+
+    while (
+      this.ledgerConnector.getCoalescedReads() == 0 &&
+      System.currentTimeMillis() < deadline
+    ) {
+      Thread.sleep(1);
+    }
+
+    this.ledgerReader.releaseRead.countDown();
+
+    assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, this.ledgerReader.reads.get());
+    assertEquals(1, this.ledgerConnector.getCoalescedReads());
+  }
+
+  @Test
+  public void keepsSubscriptionOfCachedIndex() {
+    this.ledgerReader.indexes.add("cred_a");
+
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+
+    assertEquals(1, this.ledgerReader.reads.get());
+    assertEquals(1, this.ledgerReader.subscribers("cred_a"));
+  }
+
+  @Test
+  public void releasesSubscriptionOfIndexNotCached() {
+    assertNull(this.ledgerConnector.getTransactionsByIndex("cred_a", false));
+
+    assertEquals(0, this.ledgerReader.subscribers("cred_a"));
+  }
+
+  @Test
+  public void releasesSubscriptionOfReadInvalidatedWhileReading() {
+    this.ledgerReader.indexes.add("cred_a");
+    this.ledgerReader.publishWhileReading = true;
+
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+
+    assertEquals(0, this.ledgerReader.subscribers("cred_a"));
+  }
+
+  @Test
+  public void releasesSubscriptionOfEvictedIndex() {
+    this.ledgerReader.indexes.add("cred_a");
+    this.ledgerReader.indexes.add("cred_b");
+
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+    this.ledgerConnector.getTransactionsByIndex("cred_b", false);
+
+    assertEquals(0, this.ledgerReader.subscribers("cred_a"));
+    assertEquals(1, this.ledgerReader.subscribers("cred_b"));
+  }
+
+  @Test
+  public void releasesSubscriptionOfInvalidatedIndexOnNextRead() {
+    this.ledgerReader.indexes.add("cred_a");
+
+    this.ledgerConnector.getTransactionsByIndex("cred_a", false);
+    this.ledgerReader.publish("cred_a");
+
+    assertEquals(1, this.ledgerReader.subscribers("cred_a"));
+
+    this.ledgerConnector.getTransactionsByIndex("cred_b", false);
+
+    assertEquals(0, this.ledgerReader.subscribers("cred_a"));
+  }
+
+  /**
+   * Leitor da Tangle que registra as inscrições em cada índice e, caso
+   * 'releaseRead' seja definido, bloqueia as leituras até a sua liberação.
+   */
+  private static final class FakeLedgerReader implements ILedgerReader {
+
+    private final Set<String> indexes = new HashSet<>();
+    private final Map<String, Set<ILedgerSubscriber>> subscriptions = new HashMap<>();
+    private boolean publishWhileReading = false;
+    private final AtomicInteger reads = new AtomicInteger();
+    private CountDownLatch readStarted;
+    private CountDownLatch releaseRead;
+
+    @Override
+    public Transaction getTransactionById(String id) {
+      return null;
+    }
+
+    @Override
+    public List<Transaction> getTransactionsByIndex(String index, boolean flag) {
+      this.reads.incrementAndGet();
+
+      if (this.releaseRead != null) {
+        this.readStarted.countDown();
+
+        try {
+          this.releaseRead.await();
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+        }
+      }
+
+      if (this.publishWhileReading) {
+        this.publish(index);
+      }
+
+      return this.indexes.contains(index) ? new ArrayList<>() : null;
+    }
+
+    @Override
+    public void subscribe(String topic, ILedgerSubscriber subscriber) {
+      this.subscriptions.computeIfAbsent(topic, t -> new HashSet<>())
+        .add(subscriber);
+    }
+
+    @Override
+    public void unsubscribe(String topic, ILedgerSubscriber subscriber) {
+      this.subscriptions.getOrDefault(topic, new HashSet<>()).remove(subscriber);
+    }
+
+    private void publish(String topic) {
+      new ArrayList<>(this.subscriptions.getOrDefault(topic, new HashSet<>()))
+        .forEach(subscriber -> subscriber.update(null, null));
+    }
+
+    private int subscribers(String topic) {
+      return this.subscriptions.getOrDefault(topic, new HashSet<>()).size();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package reputation.node.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import reputation.node.utils.DeviceResponseParser.DeviceResponse;
+
+public class DeviceResponseParserTest {
+
+  private static final String RESPONSE =
+    "{\"METHOD\":\"GET\",\"CODE\":\"POST\",\"HEADER\":{\"NAME\":\"device1\"}," +
+    "\"BODY\":{\"temperatureSensor\":[\"28\"],\"humiditySensor\":[\"60\"]}}";
+
+  @Test
+  public void parsesValidResponse() {
+    DeviceResponse response = parse(RESPONSE);
+
+    assertEquals("device1", response.getDeviceId());
+    assertEquals(
+      Arrays.asList("temperatureSensor", "humiditySensor"),
+      response.getSensorIds()
+    );
+  }
+
+  @Test
+  public void parsesResponseWithFieldsInAnyOrder() {
+    DeviceResponse response = parse(
+      "{\"BODY\":{\"s1\":1},\"HEADER\":{\"TIME\":1,\"NAME\":\"device1\"}," +
+      "\"METHOD\":\"GET\"}"
+    );
+
+    assertEquals("device1", response.getDeviceId());
+    assertEquals(Arrays.asList("s1"), response.getSensorIds());
+  }
+
+  @Test
+  public void parsesResponseWithoutBody() {
+    DeviceResponse response = parse(
+      "{\"METHOD\":\"GET\",\"HEADER\":{\"NAME\":\"device1\"}}"
+    );
+
+    assertEquals(Collections.emptyList(), response.getSensorIds());
+  }
+
+  @Test
+  public void decodesUtf8() {
+    DeviceResponse response = parse(
+      "{\"METHOD\":\"GET\",\"HEADER\":{\"NAME\":\"dispositivo-ação-😀\"}}"
+    );
+
+    assertEquals("dispositivo-ação-😀", response.getDeviceId());
+  }
+
+  @Test
+  public void ignoresOtherMethods() {
+    assertNull(
+      parse("{\"METHOD\":\"FLOW\",\"HEADER\":{\"NAME\":\"device1\"},\"BODY\":{}}")
+    );
+  }
+
+  @Test
+  public void ignoresResponseWithoutDeviceId() {
+    assertNull(parse("{\"METHOD\":\"GET\",\"HEADER\":{},\"BODY\":{\"s1\":1}}"));
+    assertNull(parse("{\"METHOD\":\"GET\",\"HEADER\":\"device1\"}"));
+  }
+
+  @Test
+  public void rejectsMalformedPayloads() {
+    assertNull(parse(""));
+    assertNull(parse("[]"));
+    assertNull(parse("GET device1"));
+    assertNull(parse("{\"METHOD\":\"GET\",\"HEADER\":{\"NAME\" \"device1\"}}"));
+    assertNull(parse("{\"METHOD\":\"GET\",\"HEADER\":{\"NAME\":\"device1\"]}"));
+  }
+
+  @Test
+  public void rejectsTruncatedPayloads() {
+    byte[] payload = RESPONSE.getBytes(StandardCharsets.UTF_8);
+    int headerEnd = RESPONSE.indexOf("\"BODY\"");
+
+    for (int length = 0; length < headerEnd; length++) {
+      assertNull(
+        "length " + length,
+        DeviceResponseParser.parse(Arrays.copyOf(payload, length))
+      );
+    }
+  }
+
+  @Test
+  public void stopsReadingOnceFieldsAreFound() {
+    DeviceResponse response = parse(RESPONSE + "garbage");
+
+    assertNotNull(response);
+    assertEquals("device1", response.getDeviceId());
+  }
+
+  private static DeviceResponse parse(String payload) {
+    return DeviceResponseParser.parse(payload.getBytes(StandardCharsets.UTF_8));
+  }
+}
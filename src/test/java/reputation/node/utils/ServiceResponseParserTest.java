@@ -0,0 +1,92 @@
+package reputation.node.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class ServiceResponseParserTest {
+
+  @Test
+  public void readsSingleLineBody() throws IOException {
+    assertEquals("28", read("{\"deviceId\":\"d1\",\"value\":\"28\"}"));
+    assertEquals("28.5", read("{\"value\":28.5}"));
+    assertEquals("true", read("{\"value\":true}"));
+  }
+
+  @Test
+  public void readsLastValueOfMultiLineBody() throws IOException {
+    assertEquals("30", read("{\"value\":\"28\"}\n{\"value\":\"30\"}\n"));
+  }
+
+  @Test
+  public void readsPrettyPrintedBody() throws IOException {
+    assertEquals("28", read("{\n  \"value\": \"28\",\n  \"time\": 1\n}\n"));
+  }
+
+  @Test
+  public void treatsNullAsAbsent() throws IOException {
+    assertNull(read("null"));
+    assertNull(read("null\n"));
+    assertNull(read("null\n{\"value\":\"28\"}"));
+    assertNull(read("{\"value\":\"28\"}\nnull"));
+  }
+
+  @Test
+  public void treatsEmptyBodyAsAbsent() throws IOException {
+    assertNull(read(""));
+    assertNull(read("\n"));
+  }
+
+  @Test
+  public void returnsNullWithoutPrimitiveValue() throws IOException {
+    assertNull(read("{\"time\":1}"));
+    assertNull(read("{\"value\":null}"));
+    assertNull(read("{\"value\":{\"a\":1}}"));
+    assertNull(read("{\"value\":\"28\"}\n[]"));
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsMalformedBody() throws IOException {
+    read("{\"value\":\"28\"");
+  }
+
+  @Test
+  public void readsBodyWithinSizeLimit() throws IOException {
+    String body = "{\"value\":\"28\"}";
+
+    assertEquals("28", read(limited(body, body.length())));
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsOversizedBody() throws IOException {
+    StringBuilder body = new StringBuilder("{\"value\":\"28\"}");
+
+    while (body.length() < 1024) {
+      body.append("\n{\"value\":\"28\"}");
+    }
+
+    read(limited(body.toString(), 64));
+  }
+
+  private static String read(String body) throws IOException {
+    return read(
+      new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))
+    );
+  }
+
+  private static String read(InputStream in) throws IOException {
+    return ServiceResponseParser.readValue(in);
+  }
+
+  private static InputStream limited(String body, int limit) {
+    return new ProviderHttpClient.LimitedInputStream(
+      new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+      limit
+    );
+  }
+}